@@ -0,0 +1,38 @@
+#!/usr/bin/env bash
+# 在当前工作区与指定版本(tag/commit)上分别运行基准测试并比较结果
+# 两个版本各自使用自身的 benchmark 模块编译，仅比较同名基准方法，基线版本需已包含 benchmark 模块
+# 用法：benchmark/compare.sh <baseline-ref> [JMH参数...]
+# 示例：benchmark/compare.sh v1.1.4 -f 1 LockInterceptorBenchmark
+set -euo pipefail
+
+BASELINE_REF="${1:?usage: compare.sh <baseline-ref> [jmh args...]}"
+shift
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+OUT="$ROOT/benchmark/target/compare"
+WORKTREE="$OUT/baseline-src"
+mkdir -p "$OUT"
+
+run() {
+  local src="$1" result="$2"
+  local version
+  version="$(cd "$src" && mvn -B -q -DforceStdout help:evaluate -Dexpression=project.version)"
+  (cd "$src" && mvn -B -q -DskipTests -Dgpg.skip install)
+  (cd "$src/benchmark" && mvn -B -q -DskipTests -Dcnaworld.redis.version="$version" package)
+  shift 2
+  java -jar "$src/benchmark/target/benchmarks.jar" -rf json -rff "$result" "$@"
+}
+
+rm -rf "$WORKTREE"
+git -C "$ROOT" worktree add --detach "$WORKTREE" "$BASELINE_REF"
+trap 'git -C "$ROOT" worktree remove --force "$WORKTREE"' EXIT
+
+if [ ! -f "$WORKTREE/benchmark/pom.xml" ]; then
+  echo "$BASELINE_REF 不包含 benchmark 模块" >&2
+  exit 2
+fi
+
+run "$WORKTREE" "$OUT/baseline.json" "$@"
+run "$ROOT" "$OUT/current.json" "$@"
+
+java -cp "$ROOT/benchmark/target/benchmarks.jar" cn.cnaworld.framework.infrastructure.benchmark.BenchmarkCompare \
+  "$OUT/baseline.json" "$OUT/current.json" "${THRESHOLD:-5}"
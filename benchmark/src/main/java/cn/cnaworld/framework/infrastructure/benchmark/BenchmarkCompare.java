@@ -0,0 +1,120 @@
+package cn.cnaworld.framework.infrastructure.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 比较两次基准测试结果（JMH -rf json 输出）
+ * 用法：java -cp benchmarks.jar cn.cnaworld.framework.infrastructure.benchmark.BenchmarkCompare baseline.json current.json [阈值百分比，默认5]
+ * 变差幅度超过阈值且两次结果的误差区间不重叠时判定为退化，存在退化时以退出码1结束
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+public final class BenchmarkCompare {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 5.0;
+
+    private BenchmarkCompare() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BenchmarkCompare <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        Map<String, Result> baseline = read(new File(args[0]));
+        Map<String, Result> current = read(new File(args[1]));
+        int regressions = 0;
+        System.out.printf("%-60s %14s %14s %9s  %s%n", "benchmark", "baseline", "current", "change", "unit");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-60s %14s %14.3f %9s  %s%n", entry.getKey(), "-", now.score, "new", now.unit);
+                continue;
+            }
+            //吞吐量越大越好，其余模式耗时越小越好
+            double change = (now.score - before.score) / before.score * 100;
+            double worse = now.higherIsBetter ? -change : change;
+            boolean significant = Math.abs(now.score - before.score) > now.error + before.error;
+            boolean regression = worse > threshold && significant;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-60s %14.3f %14.3f %+8.2f%%  %s%s%n", entry.getKey(), before.score, now.score, change, now.unit,
+                    regression ? "  REGRESSION" : "");
+        }
+        for (String removed : baseline.keySet()) {
+            if (!current.containsKey(removed)) {
+                System.out.printf("%-60s %14.3f %14s %9s%n", removed, baseline.get(removed).score, "-", "removed");
+            }
+        }
+        System.out.printf("%d regression(s) over %.1f%%%n", regressions, threshold);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 按 基准方法+参数+模式 汇总结果
+     */
+    private static Map<String, Result> read(File file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            //仅保留 类名.方法名
+            String benchmark = run.path("benchmark").asText();
+            StringBuilder name = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1));
+            Map<String, String> params = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = run.path("params").fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                params.put(field.getKey(), field.getValue().asText());
+            }
+            if (!params.isEmpty()) {
+                name.append(params);
+            }
+            String mode = run.path("mode").asText();
+            name.append(" (").append(mode).append(')');
+            JsonNode metric = run.path("primaryMetric");
+            results.put(name.toString(), new Result(number(metric.path("score")), number(metric.path("scoreError")),
+                    metric.path("scoreUnit").asText(), "thrpt".equals(mode)));
+        }
+        return results;
+    }
+
+    /**
+     * 单次运行的误差可能输出为 "NaN"
+     */
+    private static double number(JsonNode node) {
+        double value = node.isNumber() ? node.asDouble() : Double.NaN;
+        return Double.isNaN(value) ? 0 : value;
+    }
+
+    private static final class Result {
+
+        private final double score;
+
+        private final double error;
+
+        private final String unit;
+
+        private final boolean higherIsBetter;
+
+        private Result(double score, double error, String unit, boolean higherIsBetter) {
+            this.score = score;
+            this.error = error;
+            this.unit = unit;
+            this.higherIsBetter = higherIsBetter;
+        }
+    }
+
+}
@@ -0,0 +1,160 @@
+package cn.cnaworld.framework.infrastructure.benchmark;
+
+import cn.cnaworld.framework.infrastructure.utils.redis.CnaRedisUtil;
+import org.apache.commons.lang3.StringUtils;
+import org.redisson.Redisson;
+import org.redisson.api.RFuture;
+import org.redisson.api.RLock;
+import org.redisson.api.RReadWriteLock;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.RedissonReactiveClient;
+import org.redisson.api.RedissonRxClient;
+import org.redisson.codec.MarshallingCodec;
+import org.redisson.config.Config;
+import org.redisson.misc.CompletableFutureWrapper;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.ServerSocket;
+
+/**
+ * 基准测试使用的redisson客户端
+ * 未配置 -Dcnaworld.benchmark.redis.address 时启动本地嵌入式redis
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+final class BenchmarkRedisson {
+
+    /**
+     * 外部redis地址，如 redis://127.0.0.1:6379
+     */
+    static final String ADDRESS_PROPERTY = "cnaworld.benchmark.redis.address";
+
+    private BenchmarkRedisson() {
+    }
+
+    /**
+     * 以与自动配置相同的方式初始化 CnaRedisUtil
+     * @return 关闭时释放 CnaRedisUtil 实例
+     */
+    static ConfigurableApplicationContext install(RedissonClient client) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.registerBean(RedissonClient.class, () -> client);
+        context.registerBean(RedissonReactiveClient.class, client::reactive);
+        context.registerBean(RedissonRxClient.class, client::rxJava);
+        //直接注册定义，跳过仅在自动配置中可解析的加载条件
+        context.registerBeanDefinition("cnaRedisUtil", new RootBeanDefinition(CnaRedisUtil.class));
+        context.refresh();
+        return context;
+    }
+
+    /**
+     * 启动嵌入式redis，已配置外部redis时返回null
+     */
+    static RedisServer startServer() throws IOException {
+        if (StringUtils.isNotBlank(System.getProperty(ADDRESS_PROPERTY))) {
+            return null;
+        }
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        RedisServer server = RedisServer.newRedisServer()
+                .port(port)
+                .bind("127.0.0.1")
+                .setting("save \"\"")
+                .setting("appendonly no")
+                .build();
+        server.start();
+        System.setProperty(ADDRESS_PROPERTY, "redis://127.0.0.1:" + port);
+        return server;
+    }
+
+    static RedissonClient connect() {
+        Config config = new Config();
+        config.useSingleServer().setAddress(System.getProperty(ADDRESS_PROPERTY));
+        return Redisson.create(config);
+    }
+
+    static void stopServer(RedisServer server) throws IOException {
+        if (server != null) {
+            server.stop();
+            System.clearProperty(ADDRESS_PROPERTY);
+        }
+    }
+
+    /**
+     * 加解锁均立即成功的客户端，仅支持锁相关方法及初始化 CnaRedisUtil 所需的 getConfig ，用于测量切面自身开销
+     */
+    static RedissonClient noopClient() {
+        RLock lock = proxy(RLock.class, (proxy, method, args) -> {
+            Class<?> returnType = method.getReturnType();
+            if (method.getDeclaringClass() == Object.class) {
+                return unsupported(proxy, method, args);
+            }
+            if (returnType == boolean.class) {
+                return true;
+            }
+            if (returnType == void.class) {
+                return null;
+            }
+            if (returnType == RFuture.class) {
+                //联锁通过异步方法解锁
+                return new CompletableFutureWrapper<>(method.getName().startsWith("tryLock") ? Boolean.TRUE : null);
+            }
+            return unsupported(proxy, method, args);
+        });
+        RReadWriteLock readWriteLock = proxy(RReadWriteLock.class, (proxy, method, args) ->
+                method.getReturnType() == RLock.class ? lock : unsupported(proxy, method, args));
+        RedissonReactiveClient reactive = proxy(RedissonReactiveClient.class, BenchmarkRedisson::unsupported);
+        RedissonRxClient rx = proxy(RedissonRxClient.class, BenchmarkRedisson::unsupported);
+        //与redisson未配置codec时的默认值一致
+        Config config = new Config();
+        config.setCodec(new MarshallingCodec());
+        return proxy(RedissonClient.class, (proxy, method, args) -> {
+            Class<?> returnType = method.getReturnType();
+            if (returnType == Config.class) {
+                return config;
+            }
+            if (returnType == RLock.class) {
+                return lock;
+            }
+            if (returnType == RReadWriteLock.class) {
+                return readWriteLock;
+            }
+            if (returnType == RedissonReactiveClient.class) {
+                return reactive;
+            }
+            if (returnType == RedissonRxClient.class) {
+                return rx;
+            }
+            return unsupported(proxy, method, args);
+        });
+    }
+
+    private static Object unsupported(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "noop-" + method.getDeclaringClass().getSimpleName();
+            default:
+                throw new UnsupportedOperationException(method.toString());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(BenchmarkRedisson.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+}
@@ -0,0 +1,122 @@
+package cn.cnaworld.framework.infrastructure.benchmark;
+
+import cn.cnaworld.framework.infrastructure.utils.redis.CnaRedisUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.redisson.api.RedissonClient;
+import org.springframework.context.ConfigurableApplicationContext;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CnaRedisUtil 常用读写操作的吞吐量及延迟分布
+ * 默认连接本地嵌入式redis，-Dcnaworld.benchmark.redis.address=redis://host:port 可改为连接外部redis
+ * SampleTime 模式输出 p50 / p99 / p999 延迟
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class CnaRedisUtilBenchmark {
+
+    private static final String KEY_PREFIX = "cnaworld:benchmark:";
+
+    /**
+     * 值的字符数
+     */
+    @Param({"64", "1024"})
+    public int valueSize;
+
+    /**
+     * gets / sets 每批key数量
+     */
+    @Param({"10"})
+    public int batchSize;
+
+    private RedisServer server;
+
+    private RedissonClient client;
+
+    private ConfigurableApplicationContext context;
+
+    private String key;
+
+    private String value;
+
+    private String[] batchKeys;
+
+    private Map<String, String> batch;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        server = BenchmarkRedisson.startServer();
+        client = BenchmarkRedisson.connect();
+        context = BenchmarkRedisson.install(client);
+        StringBuilder valueBuilder = new StringBuilder(valueSize);
+        for (int i = 0; i < valueSize; i++) {
+            valueBuilder.append((char) ('a' + i % 26));
+        }
+        value = valueBuilder.toString();
+        key = KEY_PREFIX + "single";
+        batchKeys = new String[batchSize];
+        batch = new LinkedHashMap<>(batchSize * 2);
+        for (int i = 0; i < batchSize; i++) {
+            batchKeys[i] = KEY_PREFIX + "batch:" + i;
+            batch.put(batchKeys[i], value);
+        }
+        CnaRedisUtil.set(key, value);
+        CnaRedisUtil.sets(batch);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try {
+            client.getKeys().deleteByPattern(KEY_PREFIX + "*");
+            context.close();
+            client.shutdown();
+        } finally {
+            BenchmarkRedisson.stopServer(server);
+        }
+    }
+
+    @Benchmark
+    public void set() {
+        CnaRedisUtil.set(key, value);
+    }
+
+    @Benchmark
+    public Object get() {
+        return CnaRedisUtil.get(key);
+    }
+
+    @Benchmark
+    public Object gets() {
+        return CnaRedisUtil.gets(batchKeys);
+    }
+
+    @Benchmark
+    public void sets() {
+        CnaRedisUtil.sets(batch);
+    }
+
+}
@@ -0,0 +1,131 @@
+package cn.cnaworld.framework.infrastructure.benchmark;
+
+import cn.cnaworld.framework.infrastructure.annotation.CnaRedisLock;
+import cn.cnaworld.framework.infrastructure.config.aop.InterceptorConfig;
+import cn.cnaworld.framework.infrastructure.properties.CnaworldRedisProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @CnaRedisLock 切面开销
+ * 使用加解锁立即成功的客户端，仅测量切面元数据查找、key拼接及加解锁流程本身的开销
+ * direct 为不经过代理的直接调用，作为基线
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class LockInterceptorBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    private LockedService target;
+
+    private LockedService proxy;
+
+    private final List<Long> skuIds = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkRedisson.install(BenchmarkRedisson.noopClient());
+        target = new LockedService();
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        //与自动代理一致，AspectJ切点需要暴露当前调用
+        proxyFactory.addAdvisor(ExposeInvocationInterceptor.ADVISOR);
+        proxyFactory.addAdvisor(new InterceptorConfig().defaultPointcutAdvisor(new CnaworldRedisProperties()));
+        proxy = (LockedService) proxyFactory.getProxy();
+        for (long i = 0; i < 8; i++) {
+            skuIds.add(1000 + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object direct() {
+        return target.singleParam("10086");
+    }
+
+    @Benchmark
+    public Object staticKey() {
+        return proxy.staticKey("10086");
+    }
+
+    @Benchmark
+    public Object singleParam() {
+        return proxy.singleParam("10086");
+    }
+
+    @Benchmark
+    public Object multiParamWithPrefix() {
+        return proxy.multiParamWithPrefix(42L, "10086", "app");
+    }
+
+    @Benchmark
+    public Object multiKey() {
+        return proxy.multiKey("order", skuIds);
+    }
+
+    @Benchmark
+    public Object localFirst() {
+        return proxy.localFirst("10086");
+    }
+
+    /**
+     * 被代理的业务方法，覆盖常见的 paramsAsKey 形态
+     */
+    public static class LockedService {
+
+        @CnaRedisLock(key = "benchmark")
+        public Object staticKey(String orderId) {
+            return orderId;
+        }
+
+        @CnaRedisLock(paramsAsKey = "orderId")
+        public Object singleParam(String orderId) {
+            return orderId;
+        }
+
+        @CnaRedisLock(prefix = "order:", paramsAsKey = {"userId", "orderId", "channel"})
+        public Object multiParamWithPrefix(Long userId, String orderId, String channel) {
+            return orderId;
+        }
+
+        @CnaRedisLock(prefix = "stock:", paramsAsKey = "warehouse", paramAsMultiKey = "skuIds")
+        public Object multiKey(String warehouse, List<Long> skuIds) {
+            return warehouse;
+        }
+
+        @CnaRedisLock(paramsAsKey = "orderId", localFirst = true)
+        public Object localFirst(String orderId) {
+            return orderId;
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+package cn.cnaworld.framework.infrastructure.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 删除 @CnaRedisCacheable 两级方法缓存
+ * 删除redis中的缓存并通过发布订阅使所有节点的本地缓存失效
+ * key拼接规则与 @CnaRedisCacheable 一致
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CnaRedisCacheEvict {
+
+    /**
+     * 缓存名称
+     */
+    String cacheName();
+
+    /**
+     * 方法参数作为缓存key
+     */
+    String[] paramsAsKey() default {};
+
+    /**
+     * 缓存key
+     */
+    String key() default "";
+
+    /**
+     * 删除缓存名称下的全部缓存
+     */
+    boolean allEntries() default false;
+
+    /**
+     * 方法执行前删除，默认方法正常返回后删除，方法抛出异常时不删除
+     */
+    boolean beforeInvocation() default false;
+
+}
@@ -0,0 +1,54 @@
+package cn.cnaworld.framework.infrastructure.annotation;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 两级方法缓存
+ * 方法返回值缓存在 JVM本地缓存 及 redis 两级，读取时优先命中本地缓存，本地未命中再读取redis，均未命中才执行方法
+ * 基于 RLocalCachedMap ，任一节点写入或删除缓存后通过发布订阅使所有节点的本地缓存失效
+ * key拼接规则与 @CnaRedisLock 一致，多个参数之间以 : 分隔，若key及paramsAsKey均未配置则使用全部方法参数
+ * 仅缓存同步返回值，CompletableFuture / CompletionStage / Mono / Flux 返回值不缓存
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CnaRedisCacheable {
+
+    /**
+     * 缓存名称，对应redis中 cnaworld.redis.cache.key-prefix + cacheName 的hash
+     */
+    String cacheName();
+
+    /**
+     * 方法参数作为缓存key
+     * 参数若为object类型，需重写toString方法生成key
+     */
+    String[] paramsAsKey() default {};
+
+    /**
+     * 缓存key
+     */
+    String key() default "";
+
+    /**
+     * 缓存过期时间
+     * 0 使用 cnaworld.redis.cache.caches.[cacheName].ttl ，未配置则使用 cnaworld.redis.cache.ttl
+     * 缓存名称单独配置的ttl优先于注解
+     */
+    long ttl() default 0;
+
+    /**
+     * 时间单位
+     */
+    TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+    /**
+     * 是否缓存null返回值
+     */
+    boolean cacheNull() default false;
+
+}
@@ -0,0 +1,60 @@
+package cn.cnaworld.framework.infrastructure.annotation;
+
+import cn.cnaworld.framework.infrastructure.common.ExceptionCallBack;
+import cn.cnaworld.framework.infrastructure.common.ListenerCallBack;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 阻塞队列消费者
+ * 标注在bean方法上，应用启动后按 concurrency 启动消费线程，从 getBlockingQueue / getBoundedBlockingQueue 批量拉取元素并调用方法
+ * 方法只能有一个参数：参数类型为 List / Collection 时每批调用一次，否则每个元素调用一次
+ * 队列有积压时每批元素只需一次请求，队列为空时阻塞等待至多 pollTimeout
+ * 元素出队后即从队列中删除，方法执行异常时回调异常处理器，动作为 consume ，元素不会重新入队
+ * 应用关闭时停止拉取，等待已拉取的元素处理完成，最长等待 cnaworld.redis.listener.shutdown-timeout
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CnaRedisListener {
+
+    /**
+     * 队列名称，支持 ${} 占位符
+     */
+    String queue();
+
+    /**
+     * 是否为有界阻塞队列 getBoundedBlockingQueue ，出队时释放容量
+     */
+    boolean bounded() default false;
+
+    /**
+     * 消费线程数
+     */
+    int concurrency() default 1;
+
+    /**
+     * 单次拉取的最大元素数
+     */
+    int batchSize() default 1;
+
+    /**
+     * 队列为空时单次阻塞等待的时间，同时决定关闭时停止拉取的最长延迟
+     */
+    long pollTimeout() default 1;
+
+    /**
+     * pollTimeout 的时间单位
+     */
+    TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+    /**
+     * 异常处理器
+     */
+    Class<? extends ExceptionCallBack> exceptionCallBack() default ListenerCallBack.class;
+
+}
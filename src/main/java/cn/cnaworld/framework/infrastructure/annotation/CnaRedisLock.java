@@ -9,6 +9,7 @@ import java.util.concurrent.TimeUnit;
 /**
  * 分布式锁
  * 若key相关参数均无配置，则默认使用方法名称
+ * 方法返回值为 CompletableFuture / CompletionStage / Mono / Flux 时异步加解锁，锁定持续到异步结果完成
  * @author Lucifer
  * @date 2023/1/30
  * @since 1.0.5
@@ -24,6 +25,14 @@ public @interface CnaRedisLock {
      */
     String[] paramsAsKey() default {};
 
+    /**
+     * 集合或数组类型的方法参数展开为多把分布式锁
+     * 每个元素拼接到prefix、key或paramsAsKey生成的key之后作为独立的锁，全部元素通过联锁 MultiLock 同时加锁
+     * 元素key按自然顺序排序后加锁，避免死锁；不重叠的批次可在集群中并行执行
+     * 参数为空或空集合时退化为单把锁
+     */
+    String paramAsMultiKey() default "";
+
     /**
      * 分布式锁
      */
@@ -51,11 +60,25 @@ public @interface CnaRedisLock {
      */
     long waitTime () default 10;
 
+    /**
+     * 锁持有时间，到期自动释放，不启动看门狗续期
+     * 0 使用全局配置 cnaworld.redis.lock.lease-time
+     * -1 使用看门狗续期直到解锁
+     */
+    long leaseTime () default 0;
+
     /**
      * 时间单位
      */
     TimeUnit timeUnit ()default TimeUnit.SECONDS;
 
+    /**
+     * 本地优先
+     * 同一JVM内相同key的线程先在本地锁排队，仅持有本地锁的线程竞争分布式锁，降低redis锁竞争流量
+     * 本地等待时间计入最大阻塞时间，异步方法不生效
+     */
+    boolean localFirst() default false;
+
     /**
      * 异常处理器
      */
@@ -0,0 +1,83 @@
+package cn.cnaworld.framework.infrastructure.annotation;
+
+import cn.cnaworld.framework.infrastructure.common.ExceptionCallBack;
+import cn.cnaworld.framework.infrastructure.common.RateLimitCallBack;
+import org.redisson.api.RateType;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分布式限流
+ * 基于 RRateLimiter 令牌桶，每个限流key在首次使用时按注解配置初始化速率，已存在的限流器保留原有速率
+ * key拼接规则与 @CnaRedisLock 一致，若key相关参数均无配置，则默认使用方法名称
+ * 未获取到令牌时回调异常处理器，动作为 rateLimit ，异常处理器未抛出异常时不执行方法并返回 null 或 空异步结果
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CnaRedisRateLimit {
+
+    /**
+     * 方法参数作为限流key
+     * 参数若为object类型，需重写toString方法生成key
+     */
+    String[] paramsAsKey() default {};
+
+    /**
+     * 限流key
+     */
+    String key() default "";
+
+    /**
+     * 限流key前缀
+     */
+    String prefix() default "";
+
+    /**
+     * 每个时间间隔产生的令牌数
+     */
+    long rate() default 100;
+
+    /**
+     * 产生令牌的时间间隔
+     */
+    long interval() default 1;
+
+    /**
+     * 每次调用消耗的令牌数
+     */
+    long permits() default 1;
+
+    /**
+     * 获取令牌的最大等待时间，0 不等待
+     */
+    long waitTime() default 0;
+
+    /**
+     * interval 及 waitTime 的时间单位
+     */
+    TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+    /**
+     * OVERALL 所有客户端共享速率 ，PER_CLIENT 每个redisson客户端独立速率
+     */
+    RateType rateType() default RateType.OVERALL;
+
+    /**
+     * 本地租借令牌数，0 关闭
+     * 每个节点一次从redis获取一批令牌在本地消耗，用完后再访问redis，租借的令牌超过一个时间间隔未用完则作废
+     * 可将redis访问次数降低为 1/localBatch ，代价是各节点间令牌分配不均，单节点最多可提前占用 localBatch 个令牌
+     * 大于 rate 时按 rate 租借
+     */
+    long localBatch() default 0;
+
+    /**
+     * 异常处理器
+     */
+    Class<? extends ExceptionCallBack> exceptionCallBack() default RateLimitCallBack.class;
+
+}
@@ -0,0 +1,60 @@
+package cn.cnaworld.framework.infrastructure.common;
+
+/**
+ * 分布式锁上下文
+ * lockType = LockType.FencedLock 时，加锁脚本在授予锁的同时为本次持有分配单调递增的防护令牌（fencing token）
+ * 业务写入下游存储时携带令牌，由下游拒绝令牌小于已写入令牌的请求，避免GC停顿、网络延迟导致锁过期后的过期写入
+ * 同步方法及CompletionStage方法在方法体中通过 getFencingToken() 获取
+ * Mono / Flux 方法在组装发布者时通过 getFencingToken() 获取，订阅执行过程中通过 reactor Context 的 FENCING_TOKEN_KEY 获取
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+public final class CnaRedisLockContext {
+
+    /**
+     * reactor Context 中防护令牌的key
+     */
+    public static final String FENCING_TOKEN_KEY = CnaRedisLockContext.class.getName() + ".FENCING_TOKEN";
+
+    /**
+     * 未持有FencedLock时的令牌值，令牌从1开始递增
+     */
+    public static final long NO_FENCING_TOKEN = 0L;
+
+    private static final ThreadLocal<Long> FENCING_TOKEN = new ThreadLocal<>();
+
+    private CnaRedisLockContext() {
+    }
+
+    /**
+     * 当前线程持有的FencedLock防护令牌
+     * @return 未持有FencedLock时返回 NO_FENCING_TOKEN
+     */
+    public static long getFencingToken() {
+        Long token = FENCING_TOKEN.get();
+        return token == null ? NO_FENCING_TOKEN : token;
+    }
+
+    /**
+     * 设置当前线程的防护令牌
+     * @return 设置前的令牌，嵌套加锁时用于还原
+     */
+    static Long enter(long fencingToken) {
+        Long previous = FENCING_TOKEN.get();
+        FENCING_TOKEN.set(fencingToken);
+        return previous;
+    }
+
+    /**
+     * 还原当前线程的防护令牌
+     */
+    static void exit(Long previous) {
+        if (previous == null) {
+            FENCING_TOKEN.remove();
+        } else {
+            FENCING_TOKEN.set(previous);
+        }
+    }
+
+}
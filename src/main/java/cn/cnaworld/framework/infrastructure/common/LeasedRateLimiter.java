@@ -0,0 +1,116 @@
+package cn.cnaworld.framework.infrastructure.common;
+
+import org.redisson.api.RRateLimiter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 支持本地租借令牌的限流器
+ * 本地租借的令牌用完或过期后，由一个线程从redis租借下一批，其余线程等待租借结果，避免同时访问redis
+ * 租借失败（redis剩余令牌不足一批）时按单次调用所需令牌直接访问redis，不浪费剩余令牌
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+final class LeasedRateLimiter {
+
+    /**
+     * 最近使用时间的更新粒度，避免每次调用写入共享变量
+     */
+    private static final long TOUCH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final RRateLimiter rateLimiter;
+
+    /**
+     * 每次租借的令牌数，0 不租借
+     */
+    private final long batch;
+
+    /**
+     * 租借令牌的有效纳秒数
+     */
+    private final long leaseNanos;
+
+    /**
+     * 本地剩余令牌数
+     */
+    private final AtomicLong remaining = new AtomicLong();
+
+    /**
+     * 本地令牌过期时间
+     */
+    private volatile long expireAt = System.nanoTime();
+
+    /**
+     * 最近使用时间，按 TOUCH_NANOS 粒度更新，用于淘汰最久未使用的限流器
+     */
+    private volatile long lastUsed = System.nanoTime();
+
+    LeasedRateLimiter(RRateLimiter rateLimiter, long batch, long leaseNanos) {
+        this.rateLimiter = rateLimiter;
+        this.batch = batch;
+        this.leaseNanos = leaseNanos;
+    }
+
+    /**
+     * 获取令牌
+     * @param waitMillis 最大等待毫秒数 ，0 不等待
+     */
+    boolean tryAcquire(long permits, long waitMillis) {
+        if (batch > 0) {
+            if (tryConsume(permits)) {
+                return true;
+            }
+            synchronized (this) {
+                //等待期间其他线程可能已租借
+                if (tryConsume(permits)) {
+                    return true;
+                }
+                if (rateLimiter.tryAcquire(batch)) {
+                    remaining.set(0);
+                    expireAt = System.nanoTime() + leaseNanos;
+                    remaining.set(batch - permits);
+                    return true;
+                }
+            }
+        }
+        return waitMillis > 0 ? rateLimiter.tryAcquire(permits, waitMillis, TimeUnit.MILLISECONDS) : rateLimiter.tryAcquire(permits);
+    }
+
+    /**
+     * 是否持有未用完且未过期的租借令牌
+     */
+    boolean hasLease() {
+        return remaining.get() > 0 && System.nanoTime() - expireAt < 0;
+    }
+
+    void touch() {
+        long now = System.nanoTime();
+        if (now - lastUsed >= TOUCH_NANOS) {
+            lastUsed = now;
+        }
+    }
+
+    long getLastUsed() {
+        return lastUsed;
+    }
+
+    /**
+     * 扣减本地令牌
+     */
+    private boolean tryConsume(long permits) {
+        if (System.nanoTime() - expireAt >= 0) {
+            return false;
+        }
+        long current;
+        do {
+            current = remaining.get();
+            if (current < permits) {
+                return false;
+            }
+        } while (!remaining.compareAndSet(current, current - permits));
+        return true;
+    }
+
+}
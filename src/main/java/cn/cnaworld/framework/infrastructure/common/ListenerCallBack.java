@@ -0,0 +1,20 @@
+package cn.cnaworld.framework.infrastructure.common;
+
+import cn.cnaworld.framework.infrastructure.utils.log.CnaLogUtil;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 队列消费默认异常处理器
+ * 动作 consume 为消费方法执行异常，poll 为拉取队列异常
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@Slf4j
+public class ListenerCallBack extends ExceptionCallBack {
+
+    @Override
+    public void callback(String declaringName, String redisKey, String action, Exception e) {
+        CnaLogUtil.error(log,"方法：{} , redisKey ：{} ,动作 : {} ,队列消费异常" , declaringName, redisKey, action, e);
+    }
+}
@@ -0,0 +1,130 @@
+package cn.cnaworld.framework.infrastructure.common;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * JVM本地key锁
+ * 按key持有本地可重入锁，以引用计数管理，无线程持有或等待时自动移除，不会随key数量无限增长
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+final class LocalKeyedLock {
+
+    /**
+     * 无上限等待
+     */
+    static final long WAIT_FOREVER = -1L;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>(64);
+
+    /**
+     * 获取本地锁
+     * @param key 锁定的key
+     * @param fair 是否公平锁，仅在key首次创建本地锁时生效
+     * @param shared 是否共享锁，共享锁之间不互斥
+     * @param waitNanos 最大等待纳秒数 ，0 仅尝试一次 ，WAIT_FOREVER 一直等待
+     * @return 已持有的本地锁 ，未获取到返回null
+     */
+    Handle tryLock(String key, boolean fair, boolean shared, long waitNanos) throws InterruptedException {
+        Entry entry = entries.compute(key, (k, e) -> {
+            Entry retained = e == null ? new Entry(fair) : e;
+            retained.references++;
+            return retained;
+        });
+        Lock lock = shared ? entry.lock.readLock() : entry.lock.writeLock();
+        boolean locked = false;
+        try {
+            if (waitNanos == WAIT_FOREVER) {
+                lock.lock();
+                locked = true;
+            } else if (waitNanos == 0) {
+                locked = lock.tryLock();
+            } else {
+                locked = lock.tryLock(waitNanos, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            if (!locked) {
+                release(key);
+            }
+        }
+        return locked ? new Handle(key, lock, null) : null;
+    }
+
+    /**
+     * 按顺序获取多个key的本地锁，共用最大等待时间，任一未获取到则释放已获取的本地锁
+     * @param keys 已排序的key
+     * @return 已持有的本地锁 ，未获取到返回null
+     */
+    Handle tryLockAll(List<String> keys, boolean fair, boolean shared, long waitNanos) throws InterruptedException {
+        long deadline = System.nanoTime() + waitNanos;
+        Handle handle = null;
+        for (String key : keys) {
+            long remaining = waitNanos > 0 ? Math.max(0, deadline - System.nanoTime()) : waitNanos;
+            Handle next = tryLock(key, fair, shared, remaining);
+            if (next == null) {
+                if (handle != null) {
+                    handle.unlock();
+                }
+                return null;
+            }
+            handle = new Handle(next.key, next.lock, handle);
+        }
+        return handle;
+    }
+
+    private void release(String key) {
+        entries.computeIfPresent(key, (k, e) -> --e.references == 0 ? null : e);
+    }
+
+    /**
+     * 已持有的本地锁
+     */
+    final class Handle {
+
+        private final String key;
+
+        private final Lock lock;
+
+        /**
+         * 多key加锁时先获取的本地锁
+         */
+        private final Handle previous;
+
+        private Handle(String key, Lock lock, Handle previous) {
+            this.key = key;
+            this.lock = lock;
+            this.previous = previous;
+        }
+
+        void unlock() {
+            try {
+                lock.unlock();
+            } finally {
+                release(key);
+                if (previous != null) {
+                    previous.unlock();
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final ReentrantReadWriteLock lock;
+
+        /**
+         * 持有及等待中的线程数，仅在compute中修改
+         */
+        private int references;
+
+        private Entry(boolean fair) {
+            this.lock = new ReentrantReadWriteLock(fair);
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package cn.cnaworld.framework.infrastructure.common;
+
+import cn.cnaworld.framework.infrastructure.utils.log.CnaLogUtil;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 限流默认异常处理器
+ * 未获取到令牌属于预期内的结果，仅打印warn日志，限流器访问异常打印error日志
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@Slf4j
+public class RateLimitCallBack extends ExceptionCallBack {
+
+    @Override
+    public void callback(String declaringName, String redisKey, String action, Exception e) {
+        if (e == null) {
+            CnaLogUtil.warn(log,"方法：{} , redisKey ：{} ,动作 : {} ,超出限流" , declaringName, redisKey, action);
+        } else {
+            CnaLogUtil.error(log,"方法：{} , redisKey ：{} ,动作 : {} ,限流器访问异常" , declaringName, redisKey, action, e);
+        }
+    }
+}
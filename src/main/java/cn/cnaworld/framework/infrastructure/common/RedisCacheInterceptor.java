@@ -0,0 +1,259 @@
+package cn.cnaworld.framework.infrastructure.common;
+
+import cn.cnaworld.framework.infrastructure.annotation.CnaRedisCacheEvict;
+import cn.cnaworld.framework.infrastructure.annotation.CnaRedisCacheable;
+import cn.cnaworld.framework.infrastructure.properties.CnaworldRedisProperties;
+import cn.cnaworld.framework.infrastructure.utils.log.CnaLogUtil;
+import cn.cnaworld.framework.infrastructure.utils.redis.CnaRedisUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.redisson.api.LocalCachedMapOptions;
+import org.redisson.api.RLocalCachedMap;
+import org.redisson.api.RMap;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 两级方法缓存切面
+ * 每个缓存名称对应一个 RLocalCachedMap ，本地缓存按LRU淘汰，INVALIDATE 策略同步失效各节点本地缓存，断线重连后清空本地缓存
+ * 访问缓存异常时打印日志并直接执行方法，不影响业务
+ * 已过期元素在读取时删除，未再读取的过期元素由后台线程按 sweepInterval 扫描删除
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@Slf4j
+public class RedisCacheInterceptor implements MethodInterceptor {
+
+    /**
+     * 每次 HSCAN 扫描及删除的元素数
+     */
+    private static final int SWEEP_COUNT = 500;
+
+    private final CnaworldRedisProperties.Cache properties;
+
+    /**
+     * 方法级元数据缓存
+     */
+    private final Map<Method, RedisCacheMetadata> metadataCache = new ConcurrentHashMap<>(64);
+
+    /**
+     * 缓存名称对应的两级缓存
+     */
+    private final Map<String, RLocalCachedMap<String, RedisCacheValue>> caches = new ConcurrentHashMap<>(16);
+
+    /**
+     * 缓存名称对应的缓存hash在本节点最近一次设置的过期时间点
+     */
+    private final Map<String, AtomicLong> expireAts = new ConcurrentHashMap<>(16);
+
+    /**
+     * 过期缓存清理线程，首次创建缓存时启动
+     */
+    private volatile ScheduledExecutorService sweeper;
+
+    public RedisCacheInterceptor() {
+        this(new CnaworldRedisProperties());
+    }
+
+    public RedisCacheInterceptor(CnaworldRedisProperties properties) {
+        this.properties = properties.getCache();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RedisCacheMetadata metadata = getMetadata(invocation.getMethod());
+        CnaRedisCacheEvict cacheEvict = metadata.getCacheEvict();
+        if (cacheEvict != null && cacheEvict.beforeInvocation()) {
+            evict(metadata, invocation.getArguments());
+        }
+        Object result;
+        if (metadata.getCacheable() != null && metadata.isBlocking()) {
+            result = cacheable(invocation, metadata);
+        } else {
+            result = invocation.proceed();
+        }
+        if (cacheEvict != null && !cacheEvict.beforeInvocation()) {
+            evict(metadata, invocation.getArguments());
+        }
+        return result;
+    }
+
+    /**
+     * 优先读取缓存，未命中时执行方法并写入缓存
+     */
+    private Object cacheable(MethodInvocation invocation, RedisCacheMetadata metadata) throws Throwable {
+        CnaRedisCacheable cacheable = metadata.getCacheable();
+        RLocalCachedMap<String, RedisCacheValue> cache;
+        String cacheKey = null;
+        try {
+            cache = getCache(cacheable.cacheName());
+            cacheKey = metadata.getCacheableKeyGenerator().generate(invocation.getArguments());
+            RedisCacheValue cached = cache.get(cacheKey);
+            if (cached != null) {
+                if (!cached.isExpired(System.currentTimeMillis())) {
+                    return cached.getValue();
+                }
+                cache.fastRemoveAsync(cacheKey);
+            }
+        } catch (Exception e) {
+            CnaLogUtil.error(log,"方法：{} , cacheName ：{} , key ：{} ,读取缓存异常" , metadata.getDeclaringName(), cacheable.cacheName(), cacheKey, e);
+            return invocation.proceed();
+        }
+        Object value = invocation.proceed();
+        if (value != null || cacheable.cacheNull()) {
+            put(metadata, cache, cacheKey, value);
+        }
+        return value;
+    }
+
+    /**
+     * 同步写入缓存，保证方法返回后的删除不会被尚未完成的写入覆盖
+     * 缓存整体剩余过期时间不足1.5倍ttl时延长至两倍ttl，使长期无写入的缓存名称整体过期，已过期元素在读取或定期清理时删除
+     */
+    private void put(RedisCacheMetadata metadata, RLocalCachedMap<String, RedisCacheValue> cache, String cacheKey, Object value) {
+        long ttlMillis = metadata.getTtlMillis();
+        try {
+            long now = System.currentTimeMillis();
+            cache.fastPut(cacheKey, new RedisCacheValue(value, now + ttlMillis));
+            AtomicLong expireAt = expireAts.computeIfAbsent(cache.getName(), name -> new AtomicLong());
+            long current = expireAt.get();
+            if (current - now < ttlMillis + ttlMillis / 2 && expireAt.compareAndSet(current, now + ttlMillis * 2)) {
+                cache.expireAsync(Duration.ofMillis(ttlMillis * 2)).whenComplete((v, e) -> {
+                    if (e != null) {
+                        expireAt.compareAndSet(now + ttlMillis * 2, 0);
+                        CnaLogUtil.error(log,"cacheName ：{} ,设置缓存过期时间异常" , cache.getName(), e);
+                    }
+                });
+            }
+        } catch (Exception e) {
+            CnaLogUtil.error(log,"方法：{} , cacheName ：{} , key ：{} ,写入缓存异常" , metadata.getDeclaringName(), cache.getName(), cacheKey, e);
+        }
+    }
+
+    /**
+     * 删除缓存，同步等待删除完成，保证方法返回后其他节点不再读取到旧值
+     */
+    private void evict(RedisCacheMetadata metadata, Object[] arguments) {
+        CnaRedisCacheEvict cacheEvict = metadata.getCacheEvict();
+        String cacheKey = null;
+        try {
+            RLocalCachedMap<String, RedisCacheValue> cache = getCache(cacheEvict.cacheName());
+            if (cacheEvict.allEntries()) {
+                cache.delete();
+                //缓存hash已删除，下次写入时重新设置过期时间
+                AtomicLong expireAt = expireAts.get(cache.getName());
+                if (expireAt != null) {
+                    expireAt.set(0);
+                }
+            } else {
+                cacheKey = metadata.getCacheEvictKeyGenerator().generate(arguments);
+                cache.fastRemove(cacheKey);
+            }
+        } catch (Exception e) {
+            CnaLogUtil.error(log,"方法：{} , cacheName ：{} , key ：{} ,删除缓存异常" , metadata.getDeclaringName(), cacheEvict.cacheName(), cacheKey, e);
+        }
+    }
+
+    /**
+     * 获取缓存名称对应的两级缓存，本地缓存容量及过期时间优先使用缓存名称单独配置
+     */
+    private RLocalCachedMap<String, RedisCacheValue> getCache(String cacheName) {
+        RLocalCachedMap<String, RedisCacheValue> cache = caches.get(cacheName);
+        if (cache != null) {
+            return cache;
+        }
+        return caches.computeIfAbsent(cacheName, name -> {
+            CnaworldRedisProperties.Cache.Spec spec = properties.getCaches().get(name);
+            int maxSize = spec != null && spec.getMaxSize() != null ? spec.getMaxSize() : properties.getMaxSize();
+            Duration ttl = spec != null && spec.getTtl() != null ? spec.getTtl() : properties.getTtl();
+            LocalCachedMapOptions<String, RedisCacheValue> options = LocalCachedMapOptions.<String, RedisCacheValue>defaults()
+                    .cacheSize(maxSize)
+                    .evictionPolicy(LocalCachedMapOptions.EvictionPolicy.LRU)
+                    .timeToLive(ttl.toMillis())
+                    .syncStrategy(LocalCachedMapOptions.SyncStrategy.INVALIDATE)
+                    .reconnectionStrategy(LocalCachedMapOptions.ReconnectionStrategy.CLEAR);
+            RLocalCachedMap<String, RedisCacheValue> created = CnaRedisUtil.getLocalCachedMap(properties.getKeyPrefix() + name, options);
+            scheduleSweep(created);
+            return created;
+        });
+    }
+
+    /**
+     * 按 sweepInterval 定期清理缓存名称下已过期的元素
+     */
+    private void scheduleSweep(RLocalCachedMap<String, RedisCacheValue> cache) {
+        long intervalMillis = properties.getSweepInterval() == null ? 0 : properties.getSweepInterval().toMillis();
+        if (intervalMillis <= 0) {
+            return;
+        }
+        ScheduledExecutorService executor = sweeper;
+        if (executor == null) {
+            synchronized (this) {
+                executor = sweeper;
+                if (executor == null) {
+                    executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "cnaworld-redis-cache-sweeper");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    sweeper = executor;
+                }
+            }
+        }
+        executor.scheduleWithFixedDelay(() -> sweep(cache), intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * HSCAN 扫描缓存hash，分批删除已过期的元素，删除同样使各节点本地缓存失效
+     * 扫描与删除之间被重新写入的元素可能被一并删除，仅造成一次未命中
+     */
+    private void sweep(RLocalCachedMap<String, RedisCacheValue> cache) {
+        if (CnaRedisUtil.redisson().isShuttingDown()) {
+            return;
+        }
+        try {
+            RMap<String, RedisCacheValue> remote = CnaRedisUtil.getMap(cache.getName());
+            long now = System.currentTimeMillis();
+            List<String> expired = new ArrayList<>(SWEEP_COUNT);
+            int removed = 0;
+            for (Map.Entry<String, RedisCacheValue> entry : remote.entrySet(SWEEP_COUNT)) {
+                if (entry.getValue() == null || entry.getValue().isExpired(now)) {
+                    expired.add(entry.getKey());
+                }
+                if (expired.size() >= SWEEP_COUNT) {
+                    removed += cache.fastRemove(expired.toArray(new String[0]));
+                    expired.clear();
+                }
+            }
+            if (!expired.isEmpty()) {
+                removed += cache.fastRemove(expired.toArray(new String[0]));
+            }
+            CnaLogUtil.debug(log,"cacheName ：{} ,清理已过期缓存 {} 条" , cache.getName(), removed);
+        } catch (Exception e) {
+            CnaLogUtil.error(log,"cacheName ：{} ,清理已过期缓存异常" , cache.getName(), e);
+        }
+    }
+
+    /**
+     * 获取方法元数据，首次调用时解析
+     */
+    private RedisCacheMetadata getMetadata(Method method) {
+        RedisCacheMetadata metadata = metadataCache.get(method);
+        if (metadata == null) {
+            metadata = metadataCache.computeIfAbsent(method, m -> new RedisCacheMetadata(m, properties));
+        }
+        return metadata;
+    }
+
+}
@@ -0,0 +1,97 @@
+package cn.cnaworld.framework.infrastructure.common;
+
+import cn.cnaworld.framework.infrastructure.annotation.CnaRedisCacheEvict;
+import cn.cnaworld.framework.infrastructure.annotation.CnaRedisCacheable;
+import cn.cnaworld.framework.infrastructure.properties.CnaworldRedisProperties;
+import lombok.Getter;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.time.Duration;
+
+/**
+ * 方法级缓存元数据
+ * 每个方法仅在首次调用时解析一次
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@Getter
+final class RedisCacheMetadata {
+
+    /**
+     * 多个参数之间的分隔符，避免不同参数拼接后key相同
+     */
+    private static final String SEPARATOR = ":";
+
+    /**
+     * 方法全限定名
+     */
+    private final String declaringName;
+
+    /**
+     * 未配置为null
+     */
+    private final CnaRedisCacheable cacheable;
+
+    /**
+     * 未配置为null
+     */
+    private final CnaRedisCacheEvict cacheEvict;
+
+    private final RedisKeyGenerator cacheableKeyGenerator;
+
+    private final RedisKeyGenerator cacheEvictKeyGenerator;
+
+    /**
+     * 是否同步返回值，异步返回值不缓存
+     */
+    private final boolean blocking;
+
+    /**
+     * 缓存过期毫秒数
+     */
+    private final long ttlMillis;
+
+    RedisCacheMetadata(Method method, CnaworldRedisProperties.Cache properties) {
+        this.declaringName = method.getDeclaringClass().getName() + "." + method.getName();
+        this.cacheable = method.getAnnotation(CnaRedisCacheable.class);
+        this.cacheEvict = method.getAnnotation(CnaRedisCacheEvict.class);
+        this.cacheableKeyGenerator = cacheable == null ? null : keyGenerator(method, cacheable.key(), cacheable.paramsAsKey());
+        this.cacheEvictKeyGenerator = cacheEvict == null ? null : keyGenerator(method, cacheEvict.key(), cacheEvict.paramsAsKey());
+        this.blocking = RedisLockMetadata.ReturnType.of(method.getReturnType()) == RedisLockMetadata.ReturnType.BLOCKING;
+        this.ttlMillis = cacheable == null ? 0 : ttlMillis(cacheable, properties);
+    }
+
+    /**
+     * key及paramsAsKey均未配置时使用全部方法参数
+     */
+    private RedisKeyGenerator keyGenerator(Method method, String key, String[] paramsAsKey) {
+        if (StringUtils.isBlank(key) && ObjectUtils.isEmpty(paramsAsKey)) {
+            Parameter[] parameters = method.getParameters();
+            paramsAsKey = new String[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                paramsAsKey[i] = parameters[i].getName();
+            }
+        }
+        return new RedisKeyGenerator(method, declaringName, null, key, paramsAsKey, null, SEPARATOR);
+    }
+
+    /**
+     * 缓存名称单独配置优先，其次注解配置，最后使用默认配置
+     */
+    private static long ttlMillis(CnaRedisCacheable cacheable, CnaworldRedisProperties.Cache properties) {
+        CnaworldRedisProperties.Cache.Spec spec = properties.getCaches().get(cacheable.cacheName());
+        Duration ttl = spec == null ? null : spec.getTtl();
+        if (ttl != null) {
+            return ttl.toMillis();
+        }
+        if (cacheable.ttl() > 0) {
+            return cacheable.timeUnit().toMillis(cacheable.ttl());
+        }
+        return properties.getTtl().toMillis();
+    }
+
+}
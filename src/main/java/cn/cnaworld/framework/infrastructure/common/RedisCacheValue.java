@@ -0,0 +1,39 @@
+package cn.cnaworld.framework.infrastructure.common;
+
+import java.io.Serializable;
+
+/**
+ * 方法缓存值
+ * RLocalCachedMap 不支持单个元素过期，在缓存值中记录过期时间，读取到已过期的缓存时视为未命中
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+final class RedisCacheValue implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Object value;
+
+    /**
+     * 过期时间毫秒时间戳
+     */
+    private long expireAt;
+
+    private RedisCacheValue() {
+    }
+
+    RedisCacheValue(Object value, long expireAt) {
+        this.value = value;
+        this.expireAt = expireAt;
+    }
+
+    Object getValue() {
+        return value;
+    }
+
+    boolean isExpired(long now) {
+        return now >= expireAt;
+    }
+
+}
@@ -0,0 +1,157 @@
+package cn.cnaworld.framework.infrastructure.common;
+
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 分布式key生成器
+ * 在方法首次调用时解析 prefix 、 key 、 paramsAsKey 对应的入参下标，后续调用仅拼接最终key
+ * 规则：
+ * 1、若存在prefix，自动拼接到最前方。
+ * 2、若存在key则忽略paramsAsKey，单以prefix+key 作为分布式key。
+ * 3、若key未配置，则根据paramsAsKey中配置的参数名称与方法参数名称做匹配拼接，参数为空则拼接null。
+ * 4、若都没有值则默认使用方法全限定名
+ * 5、若配置了paramAsMultiKey，则将该集合或数组参数的每个元素拼接到上述key之后，展开为多个key
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+final class RedisKeyGenerator {
+
+    /**
+     * 方法全限定名
+     */
+    private final String declaringName;
+
+    /**
+     * 前缀，空白则为空串
+     */
+    private final String prefix;
+
+    /**
+     * 无需入参即可确定的key
+     */
+    private final String staticKey;
+
+    /**
+     * paramsAsKey 匹配到的入参下标，按paramsAsKey配置顺序
+     */
+    private final int[] paramIndexes;
+
+    /**
+     * paramAsMultiKey 匹配到的入参下标，未配置为-1
+     */
+    private final int multiKeyIndex;
+
+    /**
+     * 多个参数之间的分隔符
+     */
+    private final String separator;
+
+    RedisKeyGenerator(Method method, String declaringName, String prefix, String key, String[] paramsAsKey) {
+        this(method, declaringName, prefix, key, paramsAsKey, null);
+    }
+
+    RedisKeyGenerator(Method method, String declaringName, String prefix, String key, String[] paramsAsKey, String paramAsMultiKey) {
+        this(method, declaringName, prefix, key, paramsAsKey, paramAsMultiKey, "");
+    }
+
+    RedisKeyGenerator(Method method, String declaringName, String prefix, String key, String[] paramsAsKey, String paramAsMultiKey, String separator) {
+        this.declaringName = declaringName;
+        this.separator = separator;
+        this.prefix = StringUtils.isNotBlank(prefix) ? prefix : "";
+        if (StringUtils.isNotBlank(key)) {
+            this.paramIndexes = new int[0];
+            this.staticKey = this.prefix + key;
+        } else {
+            this.paramIndexes = paramIndexes(method, paramsAsKey);
+            this.staticKey = this.prefix.isEmpty() ? declaringName : this.prefix;
+        }
+        int[] multiKeyIndexes = StringUtils.isNotBlank(paramAsMultiKey) ? paramIndexes(method, new String[]{paramAsMultiKey}) : new int[0];
+        this.multiKeyIndex = multiKeyIndexes.length > 0 ? multiKeyIndexes[0] : -1;
+    }
+
+    /**
+     * 根据入参生成分布式key
+     */
+    String generate(Object[] arguments) {
+        if (paramIndexes.length == 0) {
+            return staticKey;
+        }
+        String redisKey;
+        if (paramIndexes.length == 1 && prefix.isEmpty()) {
+            redisKey = String.valueOf(arguments[paramIndexes[0]]);
+        } else {
+            StringBuilder keyBuilder = new StringBuilder(prefix);
+            for (int i = 0; i < paramIndexes.length; i++) {
+                if (i > 0) {
+                    keyBuilder.append(separator);
+                }
+                keyBuilder.append(arguments[paramIndexes[i]]);
+            }
+            redisKey = keyBuilder.toString();
+        }
+        //若都没有值则默认使用方法全限定名
+        return redisKey.isEmpty() ? declaringName : redisKey;
+    }
+
+    /**
+     * 将paramAsMultiKey对应的集合或数组参数展开为多个分布式key
+     * 按自然顺序排序去重，保证各节点加锁顺序一致，避免死锁
+     * @param redisKey generate 生成的key ，作为每个元素key的前缀
+     * @return 未配置paramAsMultiKey或参数为空时返回null
+     */
+    List<String> generateMulti(Object[] arguments, String redisKey) {
+        if (multiKeyIndex < 0) {
+            return null;
+        }
+        Object argument = arguments[multiKeyIndex];
+        Set<String> keys = new TreeSet<>();
+        if (argument instanceof Iterable) {
+            for (Object element : (Iterable<?>) argument) {
+                keys.add(redisKey + element);
+            }
+        } else if (argument != null && argument.getClass().isArray()) {
+            int length = Array.getLength(argument);
+            for (int i = 0; i < length; i++) {
+                keys.add(redisKey + Array.get(argument, i));
+            }
+        } else if (argument != null) {
+            keys.add(redisKey + argument);
+        }
+        return keys.isEmpty() ? null : new ArrayList<>(keys);
+    }
+
+    /**
+     * 入参名称与注解设置比较，匹配则记录下标
+     */
+    private static int[] paramIndexes(Method method, String[] paramsAsKey) {
+        Parameter[] parameters = method.getParameters();
+        if (ObjectUtils.isEmpty(paramsAsKey) || ObjectUtils.isEmpty(parameters)) {
+            return new int[0];
+        }
+        List<Integer> indexes = new ArrayList<>(paramsAsKey.length);
+        for (String paramAsKey : paramsAsKey) {
+            for (int i = 0; i < parameters.length; i++) {
+                if (parameters[i].getName().equals(paramAsKey)) {
+                    indexes.add(i);
+                    break;
+                }
+            }
+        }
+        int[] result = new int[indexes.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = indexes.get(i);
+        }
+        return result;
+    }
+
+}
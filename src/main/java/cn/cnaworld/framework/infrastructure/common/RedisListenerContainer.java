@@ -0,0 +1,194 @@
+package cn.cnaworld.framework.infrastructure.common;
+
+import cn.cnaworld.framework.infrastructure.annotation.CnaRedisListener;
+import cn.cnaworld.framework.infrastructure.utils.log.CnaLogUtil;
+import cn.cnaworld.framework.infrastructure.utils.redis.CnaRedisUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBlockingQueue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 单个 @CnaRedisListener 方法的消费线程
+ * 每个线程先非阻塞批量拉取（drainTo），队列为空时阻塞等待第一个元素后再拉取剩余部分，
+ * 有积压时每批只需一次请求；停止后不再拉取，已拉取的元素处理完成后线程退出
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@Slf4j
+final class RedisListenerContainer {
+
+    private final Object bean;
+
+    private final Method method;
+
+    private final CnaRedisListener annotation;
+
+    /**
+     * 方法全限定名
+     */
+    private final String declaringName;
+
+    private final String queueName;
+
+    /**
+     * 方法参数为 List / Collection 时按批调用
+     */
+    private final boolean batch;
+
+    /**
+     * 异常处理器单例，实例化失败时为null
+     */
+    private final ExceptionCallBack exceptionCallBack;
+
+    /**
+     * 异常处理器实例化异常
+     */
+    private final Exception exceptionCallBackError;
+
+    private final List<Thread> threads = new ArrayList<>();
+
+    private volatile boolean running;
+
+    RedisListenerContainer(Object bean, Method method, CnaRedisListener annotation, String queueName) {
+        this.bean = bean;
+        this.method = method;
+        this.annotation = annotation;
+        this.declaringName = method.getDeclaringClass().getName() + "." + method.getName();
+        this.queueName = queueName;
+        Class<?> parameterType = method.getParameterTypes()[0];
+        this.batch = Collection.class.isAssignableFrom(parameterType) && parameterType.isAssignableFrom(ArrayList.class);
+        ExceptionCallBack callBack = null;
+        Exception callBackError = null;
+        try {
+            callBack = annotation.exceptionCallBack().newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            callBackError = e;
+        }
+        this.exceptionCallBack = callBack;
+        this.exceptionCallBackError = callBackError;
+    }
+
+    synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        RBlockingQueue<Object> queue = annotation.bounded() ? CnaRedisUtil.getBoundedBlockingQueue(queueName) : CnaRedisUtil.getBlockingQueue(queueName);
+        threads.clear();
+        for (int i = 0; i < annotation.concurrency(); i++) {
+            Thread thread = new Thread(() -> consume(queue), "cna-redis-listener-" + queueName + "-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+    }
+
+    /**
+     * 停止拉取，不等待线程退出
+     */
+    void stop() {
+        running = false;
+    }
+
+    /**
+     * 等待消费线程退出，超过 deadline 后中断仍未退出的线程
+     * 阻塞拉取中被中断时可能丢失该次拉取的元素
+     * @return 是否全部在 deadline 前退出
+     */
+    synchronized boolean awaitTermination(long deadline) {
+        boolean terminated = true;
+        for (Thread thread : threads) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            try {
+                if (remaining > 0) {
+                    thread.join(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (thread.isAlive()) {
+                terminated = false;
+                thread.interrupt();
+            }
+        }
+        return terminated;
+    }
+
+    String getDeclaringName() {
+        return declaringName;
+    }
+
+    private void consume(RBlockingQueue<Object> queue) {
+        int batchSize = annotation.batchSize();
+        List<Object> elements = new ArrayList<>(batchSize);
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                queue.drainTo(elements, batchSize);
+                if (elements.isEmpty()) {
+                    Object first = queue.poll(annotation.pollTimeout(), annotation.timeUnit());
+                    if (first == null) {
+                        continue;
+                    }
+                    elements.add(first);
+                    if (batchSize > 1) {
+                        queue.drainTo(elements, batchSize - 1);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                extractedCallBack("poll", e);
+                //redis不可用时避免空转
+                LockSupport.parkNanos(annotation.timeUnit().toNanos(Math.max(1, annotation.pollTimeout())));
+            }
+            //停止后已拉取的元素仍需处理
+            if (!elements.isEmpty()) {
+                dispatch(elements);
+                elements.clear();
+            }
+        }
+    }
+
+    private void dispatch(List<Object> elements) {
+        if (batch) {
+            invoke(new ArrayList<>(elements));
+            return;
+        }
+        for (Object element : elements) {
+            invoke(element);
+        }
+    }
+
+    private void invoke(Object argument) {
+        try {
+            method.invoke(bean, argument);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getTargetException();
+            extractedCallBack("consume", cause instanceof Exception ? (Exception) cause : e);
+        } catch (Exception e) {
+            extractedCallBack("consume", e);
+        }
+    }
+
+    private void extractedCallBack(String action, Exception e) {
+        try {
+            if (exceptionCallBack != null) {
+                exceptionCallBack.callback(declaringName, queueName, action, e);
+            } else {
+                CnaLogUtil.error(log,"方法：{} , redisKey ：{} ,队列消费 , 异常处理回调实例化异常" , declaringName, queueName, exceptionCallBackError, e);
+            }
+        } catch (Exception callBackException) {
+            //异常处理器抛出的异常不能中断消费线程
+            CnaLogUtil.error(log,"方法：{} , redisKey ：{} ,动作 : {} ,异常处理回调执行异常" , declaringName, queueName, action, callBackException);
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+package cn.cnaworld.framework.infrastructure.common;
+
+import cn.cnaworld.framework.infrastructure.annotation.CnaRedisListener;
+import cn.cnaworld.framework.infrastructure.properties.CnaworldRedisProperties;
+import cn.cnaworld.framework.infrastructure.utils.log.CnaLogUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 扫描 @CnaRedisListener 方法并管理消费线程
+ * 容器刷新完成后启动全部消费者，关闭时先于redisson停止：停止拉取并等待已拉取的元素处理完成
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@Slf4j
+public class RedisListenerProcessor implements BeanPostProcessor, SmartLifecycle, EnvironmentAware {
+
+    private final ObjectProvider<CnaworldRedisProperties> propertiesProvider;
+
+    private final List<RedisListenerContainer> containers = new CopyOnWriteArrayList<>();
+
+    /**
+     * 不含注解的类，避免重复解析
+     */
+    private final Set<Class<?>> nonAnnotatedClasses = ConcurrentHashMap.newKeySet();
+
+    private Environment environment;
+
+    private volatile boolean running;
+
+    public RedisListenerProcessor(ObjectProvider<CnaworldRedisProperties> propertiesProvider) {
+        this.propertiesProvider = propertiesProvider;
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        if (nonAnnotatedClasses.contains(targetClass)) {
+            return bean;
+        }
+        Map<Method, CnaRedisListener> methods = MethodIntrospector.selectMethods(targetClass,
+                (MethodIntrospector.MetadataLookup<CnaRedisListener>) method -> AnnotatedElementUtils.findMergedAnnotation(method, CnaRedisListener.class));
+        if (methods.isEmpty()) {
+            nonAnnotatedClasses.add(targetClass);
+            return bean;
+        }
+        methods.forEach((method, annotation) -> {
+            Assert.isTrue(method.getParameterCount() == 1, "@CnaRedisListener 方法只能有一个参数 : " + method);
+            Assert.isTrue(annotation.concurrency() > 0, "@CnaRedisListener concurrency 必须大于 0 : " + method);
+            Assert.isTrue(annotation.batchSize() > 0, "@CnaRedisListener batchSize 必须大于 0 : " + method);
+            String queueName = environment == null ? annotation.queue() : environment.resolvePlaceholders(annotation.queue());
+            Assert.hasText(queueName, "@CnaRedisListener queue 不能为空 : " + method);
+            Method invocable = AopUtils.selectInvocableMethod(method, bean.getClass());
+            ReflectionUtils.makeAccessible(invocable);
+            RedisListenerContainer container = new RedisListenerContainer(bean, invocable, annotation, queueName);
+            containers.add(container);
+            //容器已启动后初始化的bean（如懒加载）直接启动
+            if (running) {
+                container.start();
+            }
+        });
+        return bean;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (RedisListenerContainer container : containers) {
+            container.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (RedisListenerContainer container : containers) {
+            container.stop();
+        }
+        long deadline = System.nanoTime() + shutdownTimeout().toNanos();
+        for (RedisListenerContainer container : containers) {
+            if (!container.awaitTermination(deadline)) {
+                CnaLogUtil.warn(log,"方法：{} ,队列消费线程未在 shutdown-timeout 内退出，已中断" , container.getDeclaringName());
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private Duration shutdownTimeout() {
+        CnaworldRedisProperties properties = propertiesProvider.getIfAvailable();
+        return properties == null ? new CnaworldRedisProperties.Listener().getShutdownTimeout() : properties.getListener().getShutdownTimeout();
+    }
+
+}
@@ -0,0 +1,46 @@
+package cn.cnaworld.framework.infrastructure.common;
+
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 一次加锁成功后持有的锁
+ * 解锁时先释放分布式锁，再释放本地锁
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+final class RedisLockHandle {
+
+    private final Lock lock;
+
+    /**
+     * 本地优先模式下持有的本地锁，非本地优先为null
+     */
+    private final LocalKeyedLock.Handle localHandle;
+
+    /**
+     * FencedLock 防护令牌，其他锁类型为 CnaRedisLockContext.NO_FENCING_TOKEN
+     */
+    private final long fencingToken;
+
+    RedisLockHandle(Lock lock, LocalKeyedLock.Handle localHandle, long fencingToken) {
+        this.lock = lock;
+        this.localHandle = localHandle;
+        this.fencingToken = fencingToken;
+    }
+
+    long getFencingToken() {
+        return fencingToken;
+    }
+
+    void unlock() {
+        try {
+            lock.unlock();
+        } finally {
+            if (localHandle != null) {
+                localHandle.unlock();
+            }
+        }
+    }
+
+}
@@ -1,19 +1,34 @@
 package cn.cnaworld.framework.infrastructure.common;
 
 import cn.cnaworld.framework.infrastructure.annotation.CnaRedisLock;
+import cn.cnaworld.framework.infrastructure.properties.CnaworldRedisProperties;
+import cn.cnaworld.framework.infrastructure.statics.LockType;
 import cn.cnaworld.framework.infrastructure.utils.log.CnaLogUtil;
 import cn.cnaworld.framework.infrastructure.utils.redis.CnaRedisUtil;
+import cn.cnaworld.framework.infrastructure.utils.redis.FencedLock;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
-import org.apache.commons.lang3.ObjectUtils;
-import org.apache.commons.lang3.StringUtils;
+import org.reactivestreams.Publisher;
+import org.redisson.api.RLock;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
 
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
 
 /**
  * @author Lucifer
@@ -23,152 +38,468 @@ import java.util.concurrent.locks.Lock;
 @Slf4j
 public class RedisLockInterceptor implements MethodInterceptor {
 
+    /**
+     * 异步锁持有者标识，异步加解锁可能不在同一线程，取负数避免与线程id冲突
+     */
+    private static final AtomicLong ASYNC_LOCK_ID = new AtomicLong();
+
+    /**
+     * 方法级元数据缓存
+     */
+    private final Map<Method, RedisLockMetadata> metadataCache = new ConcurrentHashMap<>(64);
+
+    /**
+     * 本地优先模式下的JVM本地锁
+     */
+    private final LocalKeyedLock localKeyedLock = new LocalKeyedLock();
+
+    private final CnaworldRedisProperties properties;
+
+    /**
+     * 指标注册中心，首次解析方法元数据时获取，避免加载切面时提前初始化；未引入 micrometer 时为null
+     */
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    public RedisLockInterceptor() {
+        this(new CnaworldRedisProperties(), null);
+    }
+
+    public RedisLockInterceptor(CnaworldRedisProperties properties) {
+        this(properties, null);
+    }
+
+    public RedisLockInterceptor(CnaworldRedisProperties properties, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.properties = properties;
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
     @Override
     public Object invoke(MethodInvocation invocation) throws Throwable{
+        RedisLockMetadata metadata = getMetadata(invocation.getMethod());
+        switch (metadata.getReturnType()) {
+            case COMPLETION_STAGE:
+                return invokeCompletionStage(invocation, metadata);
+            case MONO:
+            case FLUX:
+                return invokeReactive(invocation, metadata);
+            case BLOCKING:
+            default:
+                return invokeBlocking(invocation, metadata);
+        }
+    }
 
-        Lock lock = null;
-        CnaRedisLock annotation = null;
-        String declaringName = null;
+    /**
+     * 同步方法，阻塞加锁，方法返回后解除锁定
+     */
+    private Object invokeBlocking(MethodInvocation invocation, RedisLockMetadata metadata) throws Throwable {
+        RedisLockHandle lock = null;
         String redisKey = null;
+        long acquiredAt = 0;
         try {
-            Method method = invocation.getMethod();
-            declaringName = method.getDeclaringClass().getName()+"."+method.getName();
-            annotation = method.getAnnotation(CnaRedisLock.class);
-            StringBuilder keyBuilder= new StringBuilder();
-            extractedRedisKey(invocation, method, declaringName, annotation, keyBuilder);
-            redisKey = keyBuilder.toString();
-            lock = lock(declaringName, annotation, redisKey);
+            redisKey = metadata.getKeyGenerator().generate(invocation.getArguments());
+            List<String> multiKeys = metadata.getKeyGenerator().generateMulti(invocation.getArguments(), redisKey);
+            if (multiKeys != null) {
+                redisKey = multiKeys.toString();
+            }
+            long start = System.nanoTime();
+            lock = lock(metadata, redisKey, multiKeys);
+            acquiredAt = System.nanoTime();
             if (lock == null){
-                extractedCallBack(declaringName, annotation, redisKey,"lock",null);
+                metadata.getMeters().timeout(redisKey, acquiredAt - start);
+                extractedCallBack(metadata, redisKey,"lock",null);
                 return null;
             }
+            metadata.getMeters().acquired(redisKey, acquiredAt - start);
         }catch (Exception e){
-            extractedCallBack(declaringName, annotation, redisKey,"lock", e);
+            metadata.getMeters().lockFailed();
+            extractedCallBack(metadata, redisKey,"lock", e);
         }
         Object obj;
         try {
-            obj =  invocation.proceed();
+            obj = proceed(invocation, metadata, lock == null ? CnaRedisLockContext.NO_FENCING_TOKEN : lock.getFencingToken());
         } finally {
-            try {
-                lock.unlock();
-                CnaLogUtil.debug(log,"方法：{} , redisKey ：{} ,解除锁定成功 " ,declaringName, redisKey);
-            }catch (Exception e) {
-                extractedCallBack(declaringName, annotation, redisKey,"unlock",e);
+            //加锁异常且异常处理器选择继续执行业务时，未持有锁无需解锁
+            if (lock != null) {
+                unlock(metadata, redisKey, lock, acquiredAt);
             }
         }
         return obj;
     }
 
-    private void extractedCallBack(String declaringName, CnaRedisLock annotation, String redisKey,String action, Exception e) {
+    /**
+     * 解除锁定
+     */
+    private void unlock(RedisLockMetadata metadata, String redisKey, RedisLockHandle lock, long acquiredAt) {
         try {
-            annotation.exceptionCallBack().newInstance().callback(declaringName, redisKey,action, e);
-        } catch (InstantiationException | IllegalAccessException ex) {
-            CnaLogUtil.error(log,"方法：{} , redisKey ：{} ,分布式锁定 , 异常处理回调实例化异常" , declaringName, redisKey, ex,e);
+            lock.unlock();
+            metadata.getMeters().released(redisKey, System.nanoTime() - acquiredAt, true);
+            CnaLogUtil.debug(log,"方法：{} , redisKey ：{} ,解除锁定成功 " ,metadata.getDeclaringName(), redisKey);
+        }catch (Exception e) {
+            metadata.getMeters().released(redisKey, System.nanoTime() - acquiredAt, false);
+            extractedCallBack(metadata, redisKey,"unlock",e);
         }
     }
 
     /**
-     * 根据参数类型加锁
+     * CompletionStage 方法，异步加锁，返回的CompletionStage完成后异步解除锁定
+     * 加锁失败或加锁异常时回调异常处理器，返回null值结果
+     * 方法体在返回加锁结果的 redisson 回调线程中执行（加锁结果已就绪时为调用线程），方法体应尽快返回，阻塞操作需自行提交到业务线程池
      */
-    private Lock lock(String declaringName, CnaRedisLock annotation, String redisKey) throws InterruptedException {
-        Lock lock =null;
-        boolean result;
-        //根据锁类型加锁
-        switch (annotation.lockType()){
-            case FairLock:
-                lock = CnaRedisUtil.getFairLock(redisKey);
-                //尝试加公平锁
-                result=tryLock(declaringName, annotation, redisKey, lock);
-                break;
-            case Lock:
-            default:
-                //尝试加非公平锁
-                lock = CnaRedisUtil.getLock(redisKey);
-                result=tryLock(declaringName, annotation, redisKey, lock);
-                break;
+    private Object invokeCompletionStage(MethodInvocation invocation, RedisLockMetadata metadata) {
+        String baseKey = metadata.getKeyGenerator().generate(invocation.getArguments());
+        List<String> multiKeys = metadata.getKeyGenerator().generateMulti(invocation.getArguments(), baseKey);
+        String redisKey = multiKeys == null ? baseKey : multiKeys.toString();
+        RLock lock = getLock(metadata, redisKey, multiKeys);
+        AsyncLock asyncLock = new AsyncLock(ASYNC_LOCK_ID.decrementAndGet());
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        //不切换线程池，避免业务方法占用 ForkJoinPool.commonPool
+        tryLockAsync(metadata, lock, asyncLock).whenComplete((locked, lockError) -> {
+            try {
+                if (!acquired(metadata, redisKey, asyncLock, locked, lockError)) {
+                    result.complete(null);
+                    return;
+                }
+                CompletionStage<?> stage;
+                try {
+                    stage = (CompletionStage<?>) proceed(invocation, metadata, asyncLock.fencingToken);
+                } catch (Throwable e) {
+                    unlockAsync(metadata, redisKey, lock, asyncLock).whenComplete((v, unlockError) -> result.completeExceptionally(e));
+                    return;
+                }
+                if (stage == null) {
+                    unlockAsync(metadata, redisKey, lock, asyncLock).whenComplete((v, unlockError) -> complete(result, null, unlockError));
+                    return;
+                }
+                stage.whenComplete((value, error) -> unlockAsync(metadata, redisKey, lock, asyncLock).whenComplete((v, unlockError) -> {
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        complete(result, value, unlockError);
+                    }
+                }));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Mono / Flux 方法，订阅时异步加锁，发布者终止或取消订阅后异步解除锁定
+     * 加锁失败或加锁异常时回调异常处理器，返回空发布者
+     * 加锁期间取消订阅时，加锁结果返回后若已加锁成功则立即解锁，避免看门狗一直续期
+     */
+    private Object invokeReactive(MethodInvocation invocation, RedisLockMetadata metadata) {
+        String baseKey = metadata.getKeyGenerator().generate(invocation.getArguments());
+        List<String> multiKeys = metadata.getKeyGenerator().generateMulti(invocation.getArguments(), baseKey);
+        String redisKey = multiKeys == null ? baseKey : multiKeys.toString();
+        RLock lock = getLock(metadata, redisKey, multiKeys);
+        Mono<AsyncLock> acquire = Mono.defer(() -> {
+            AsyncLock asyncLock = new AsyncLock(ASYNC_LOCK_ID.decrementAndGet());
+            CompletableFuture<Boolean> locking = tryLockAsync(metadata, lock, asyncLock).toCompletableFuture();
+            //取消订阅只取消派生结果，不影响加锁结果的回调
+            return Mono.fromCompletionStage(locking.thenApply(Function.identity()))
+                    .map(locked -> acquired(metadata, redisKey, asyncLock, locked, null) ? asyncLock : AsyncLock.NOT_LOCKED)
+                    .onErrorResume(e -> Mono.just(acquired(metadata, redisKey, asyncLock, false, e) ? asyncLock : AsyncLock.NOT_LOCKED))
+                    .doOnCancel(() -> locking.whenComplete((locked, e) -> {
+                        if (e == null && Boolean.TRUE.equals(locked)) {
+                            unlockCancelled(metadata, redisKey, lock, asyncLock);
+                        }
+                    }));
+        });
+        Function<AsyncLock, Mono<Void>> release = asyncLock -> asyncLock == AsyncLock.NOT_LOCKED ? Mono.empty()
+                : Mono.fromCompletionStage(unlockAsync(metadata, redisKey, lock, asyncLock));
+        if (metadata.getReturnType() == RedisLockMetadata.ReturnType.MONO) {
+            return Mono.usingWhen(acquire,
+                    asyncLock -> asyncLock == AsyncLock.NOT_LOCKED ? Mono.empty()
+                            : Mono.defer(() -> publisher(invocation, metadata, asyncLock, Mono::from)).contextWrite(fencingContext(metadata, asyncLock)),
+                    release, (asyncLock, e) -> release.apply(asyncLock), release);
         }
-        if (!result) {
-            return null;
+        return Flux.usingWhen(acquire,
+                asyncLock -> asyncLock == AsyncLock.NOT_LOCKED ? Flux.empty()
+                        : Flux.defer(() -> publisher(invocation, metadata, asyncLock, Flux::from)).contextWrite(fencingContext(metadata, asyncLock)),
+                release, (asyncLock, e) -> release.apply(asyncLock), release);
+    }
+
+    /**
+     * 处理异步加锁结果，记录指标，加锁失败或加锁异常时回调异常处理器
+     * @return 是否加锁成功
+     */
+    private boolean acquired(RedisLockMetadata metadata, String redisKey, AsyncLock asyncLock, Boolean locked, Throwable lockError) {
+        asyncLock.acquiredAt = System.nanoTime();
+        long waitNanos = asyncLock.acquiredAt - asyncLock.start;
+        if (lockError != null) {
+            metadata.getMeters().lockFailed();
+            extractedCallBack(metadata, redisKey, "lock", unwrap(lockError));
+            return false;
+        }
+        if (!locked) {
+            metadata.getMeters().timeout(redisKey, waitNanos);
+            extractedCallBack(metadata, redisKey, "lock", null);
+            return false;
         }
-        return lock;
+        metadata.getMeters().acquired(redisKey, waitNanos);
+        CnaLogUtil.debug(log,"方法：{} , redisKey ：{} ,分布式锁定成功 " , metadata.getDeclaringName(), redisKey);
+        return true;
     }
 
     /**
-     * 根据注解值处理锁定的key
+     * 执行方法，FencedLock 在方法执行期间设置当前线程的防护令牌
      */
-    private void extractedRedisKey(MethodInvocation invocation, Method method, String declaringName, CnaRedisLock annotation, StringBuilder keyBuilder) {
-        String prefix = annotation.prefix();
-        //处理前缀
-        if (StringUtils.isNotBlank(prefix)) {
-            keyBuilder.append(prefix);
+    private static Object proceed(MethodInvocation invocation, RedisLockMetadata metadata, long fencingToken) throws Throwable {
+        if (!metadata.isFenced() || fencingToken == CnaRedisLockContext.NO_FENCING_TOKEN) {
+            return invocation.proceed();
         }
+        Long previous = CnaRedisLockContext.enter(fencingToken);
+        try {
+            return invocation.proceed();
+        } finally {
+            CnaRedisLockContext.exit(previous);
+        }
+    }
 
-        String key = annotation.key();
-        //处理直接key
-        if (StringUtils.isNotBlank(key)) {
-            keyBuilder.append(key);
-        }else {
-            //处理入参对应值
-            extractedParamsAsKeys(invocation, method, annotation, keyBuilder);
+    /**
+     * FencedLock 将防护令牌写入 reactor Context
+     */
+    private static Function<Context, Context> fencingContext(RedisLockMetadata metadata, AsyncLock asyncLock) {
+        return context -> metadata.isFenced() ? context.put(CnaRedisLockContext.FENCING_TOKEN_KEY, asyncLock.fencingToken) : context;
+    }
+
+    /**
+     * 执行方法获取发布者，每次订阅使用独立的调用副本，保证重复订阅时拦截链完整
+     */
+    private static <P extends Publisher<?>> P publisher(MethodInvocation invocation, RedisLockMetadata metadata, AsyncLock asyncLock,
+                                                        Function<Publisher<?>, P> converter) {
+        Object publisher;
+        try {
+            MethodInvocation target = invocation instanceof ProxyMethodInvocation ? ((ProxyMethodInvocation) invocation).invocableClone() : invocation;
+            publisher = proceed(target, metadata, asyncLock.fencingToken);
+        } catch (Throwable e) {
+            return converter.apply(Mono.error(e));
         }
-        //若都没有值则默认使用方法全限定名
-        if (keyBuilder.length()==0) {
-            keyBuilder.append(declaringName);
+        return converter.apply(publisher == null ? Mono.empty() : (Publisher<?>) publisher);
+    }
 
+    /**
+     * 异步加锁，FencedLock 加锁成功后记录加锁脚本返回的防护令牌
+     */
+    private static CompletionStage<Boolean> tryLockAsync(RedisLockMetadata metadata, RLock lock, AsyncLock asyncLock) {
+        CompletionStage<Boolean> locked = tryLockAsync(metadata, lock, asyncLock.lockId);
+        if (!metadata.isFenced()) {
+            return locked;
         }
+        return locked.thenApply(acquired -> {
+            if (acquired) {
+                asyncLock.fencingToken = ((FencedLock) lock).getToken(asyncLock.lockId);
+            }
+            return acquired;
+        });
     }
 
     /**
-     * 处理入参对应值
+     * 异步加锁
      */
-    private static void extractedParamsAsKeys(MethodInvocation invocation, Method method, CnaRedisLock annotation, StringBuilder keyBuilder) {
-        String[] paramsAsKeys = annotation.paramsAsKey();
-        if (ObjectUtils.isNotEmpty(paramsAsKeys)) {
-            Map<String,Object> argumentsMap = null;
-            Parameter[] parameters = method.getParameters();
-            Object[] arguments = invocation.getArguments();
-            if (ObjectUtils.isNotEmpty(parameters)) {
-                argumentsMap  = new HashMap<>(8);
-                for (int i = 0; i < parameters.length; i++){
-                    //拿到入参名称及值
-                    Parameter parameter = parameters[i];
-                    Object argument = arguments[i];
-                    String name = parameter.getName();
-                    argumentsMap.put(name,argument);
-                }
+    private static CompletionStage<Boolean> tryLockAsync(RedisLockMetadata metadata, RLock lock, long lockId) {
+        CnaRedisLock annotation = metadata.getAnnotation();
+        long leaseNanos = metadata.getLeaseNanos();
+        //是否阻塞
+        if (annotation.sync()) {
+            //阻塞最大时间大于-1则设置
+            if (annotation.waitTime() > -1) {
+                return lock.tryLockAsync(annotation.timeUnit().toNanos(annotation.waitTime()), leaseNanos, TimeUnit.NANOSECONDS, lockId);
             }
-            //入参名称及值与注解设置比较，匹配则拼接
-            if (ObjectUtils.isNotEmpty(argumentsMap)) {
-                for (String paramsAsKey:paramsAsKeys) {
-                    if (argumentsMap.containsKey(paramsAsKey)) {
-                        Object argument = argumentsMap.get(paramsAsKey);
-                        String value = String.valueOf(argument);
-                        keyBuilder.append(value);
-                    }
+            //阻塞最大时间大于小于等于-1则一直等待
+            return lock.lockAsync(leaseNanos, TimeUnit.NANOSECONDS, lockId).thenApply(v -> true);
+        }
+        //非阻塞仅尝试一次
+        return leaseNanos > 0 ? lock.tryLockAsync(0, leaseNanos, TimeUnit.NANOSECONDS, lockId) : lock.tryLockAsync(lockId);
+    }
+
+    /**
+     * 异步解锁，解锁异常时回调异常处理器，异常处理器抛出的异常作为解锁结果返回
+     */
+    private CompletableFuture<Void> unlockAsync(RedisLockMetadata metadata, String redisKey, RLock lock, AsyncLock asyncLock) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        lock.unlockAsync(asyncLock.lockId).whenComplete((v, e) -> {
+            try {
+                metadata.getMeters().released(redisKey, System.nanoTime() - asyncLock.acquiredAt, e == null);
+                if (e != null) {
+                    extractedCallBack(metadata, redisKey, "unlock", unwrap(e));
+                } else {
+                    CnaLogUtil.debug(log,"方法：{} , redisKey ：{} ,解除锁定成功 " ,metadata.getDeclaringName(), redisKey);
                 }
+                result.complete(null);
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 加锁期间已取消订阅，加锁成功后直接解锁，不记录持有指标
+     */
+    private void unlockCancelled(RedisLockMetadata metadata, String redisKey, RLock lock, AsyncLock asyncLock) {
+        lock.unlockAsync(asyncLock.lockId).whenComplete((v, e) -> {
+            if (e != null) {
+                extractedCallBack(metadata, redisKey, "unlock", unwrap(e));
+            } else {
+                CnaLogUtil.debug(log,"方法：{} , redisKey ：{} ,订阅已取消，解除锁定成功 " ,metadata.getDeclaringName(), redisKey);
             }
+        });
+    }
+
+    private static void complete(CompletableFuture<Object> result, Object value, Throwable error) {
+        if (error != null) {
+            result.completeExceptionally(error);
+        } else {
+            result.complete(value);
+        }
+    }
+
+    private static Exception unwrap(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause == null || cause instanceof Exception) {
+            return (Exception) cause;
+        }
+        return new CompletionException(cause);
+    }
+
+    /**
+     * 获取方法元数据，首次调用时解析
+     */
+    private RedisLockMetadata getMetadata(Method method) {
+        RedisLockMetadata metadata = metadataCache.get(method);
+        if (metadata == null) {
+            metadata = metadataCache.computeIfAbsent(method, m -> new RedisLockMetadata(m, properties, meterRegistryProvider));
         }
+        return metadata;
     }
 
-    private boolean tryLock(String declaringName, CnaRedisLock annotation, String redisKey, Lock lock) throws InterruptedException {
+    private void extractedCallBack(RedisLockMetadata metadata, String redisKey,String action, Exception e) {
+        ExceptionCallBack exceptionCallBack = metadata.getExceptionCallBack();
+        if (exceptionCallBack != null) {
+            exceptionCallBack.callback(metadata.getDeclaringName(), redisKey,action, e);
+        } else {
+            CnaLogUtil.error(log,"方法：{} , redisKey ：{} ,分布式锁定 , 异常处理回调实例化异常" , metadata.getDeclaringName(), redisKey, metadata.getExceptionCallBackError(),e);
+        }
+    }
+
+    /**
+     * 根据参数类型加锁
+     * 本地优先时先获取JVM本地锁，本地等待时间计入最大阻塞时间
+     */
+    private RedisLockHandle lock(RedisLockMetadata metadata, String redisKey, List<String> multiKeys) throws InterruptedException {
+        CnaRedisLock annotation = metadata.getAnnotation();
+        long waitNanos = waitNanos(annotation);
+        LocalKeyedLock.Handle localHandle = null;
+        if (annotation.localFirst()) {
+            long start = System.nanoTime();
+            boolean fair = annotation.lockType() == LockType.FairLock;
+            boolean shared = annotation.lockType() == LockType.ReadLock;
+            localHandle = multiKeys == null ? localKeyedLock.tryLock(redisKey, fair, shared, waitNanos)
+                    : localKeyedLock.tryLockAll(multiKeys, fair, shared, waitNanos);
+            if (localHandle == null) {
+                return null;
+            }
+            if (waitNanos > 0) {
+                waitNanos = Math.max(0, waitNanos - (System.nanoTime() - start));
+            }
+        }
         boolean result = false;
+        try {
+            RLock lock = getLock(metadata, redisKey, multiKeys);
+            if (!tryLock(metadata, redisKey, lock, waitNanos)) {
+                return null;
+            }
+            long fencingToken = metadata.isFenced() ? ((FencedLock) lock).getToken() : CnaRedisLockContext.NO_FENCING_TOKEN;
+            result = true;
+            return new RedisLockHandle(lock, localHandle, fencingToken);
+        } finally {
+            if (!result && localHandle != null) {
+                localHandle.unlock();
+            }
+        }
+    }
+
+    /**
+     * 最大阻塞纳秒数
+     */
+    private static long waitNanos(CnaRedisLock annotation) {
+        if (!annotation.sync()) {
+            return 0;
+        }
+        return annotation.waitTime() > -1 ? annotation.timeUnit().toNanos(annotation.waitTime()) : LocalKeyedLock.WAIT_FOREVER;
+    }
+
+    /**
+     * 根据锁类型获取锁，多key时获取联锁
+     */
+    private RLock getLock(RedisLockMetadata metadata, String redisKey, List<String> multiKeys) {
+        if (multiKeys == null) {
+            return getLock(metadata, redisKey);
+        }
+        RLock[] locks = new RLock[multiKeys.size()];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = getLock(metadata, multiKeys.get(i));
+        }
+        return CnaRedisUtil.getMultiLock(locks);
+    }
+
+    /**
+     * 根据锁类型获取锁
+     */
+    private RLock getLock(RedisLockMetadata metadata, String redisKey) {
+        switch (metadata.getAnnotation().lockType()){
+            case FairLock:
+                //公平锁
+                return CnaRedisUtil.getFairLock(redisKey);
+            case ReadLock:
+                //读锁，读锁之间不互斥
+                return CnaRedisUtil.getRReadWriteLock(redisKey).readLock();
+            case WriteLock:
+                //写锁
+                return CnaRedisUtil.getRReadWriteLock(redisKey).writeLock();
+            case SpinLock:
+                //自旋锁
+                return CnaRedisUtil.getSpinLock(redisKey);
+            case FencedLock:
+                //防护令牌锁
+                return CnaRedisUtil.getFencedLock(redisKey);
+            case Lock:
+            default:
+                //非公平锁
+                return CnaRedisUtil.getLock(redisKey);
+        }
+    }
+
+    private boolean tryLock(RedisLockMetadata metadata, String redisKey, RLock lock, long waitNanos) throws InterruptedException {
+        boolean result = false;
+        String declaringName = metadata.getDeclaringName();
+        CnaRedisLock annotation = metadata.getAnnotation();
+        long leaseNanos = metadata.getLeaseNanos();
         //是否阻塞
         if (annotation.sync()) {
             //阻塞最大时间大于-1则设置
-            if(annotation.waitTime()>-1){
-                boolean tryLock = lock.tryLock(annotation.waitTime(), annotation.timeUnit());
+            if(waitNanos != LocalKeyedLock.WAIT_FOREVER){
+                boolean tryLock = lock.tryLock(waitNanos, leaseNanos, TimeUnit.NANOSECONDS);
                 result=tryLockResult(declaringName,annotation, redisKey, tryLock);
             }else {
                 //阻塞最大时间大于小于等于-1则一直阻塞
                 try {
-                    lock.lock();
+                    if (leaseNanos > 0) {
+                        lock.lock(leaseNanos, TimeUnit.NANOSECONDS);
+                    } else {
+                        lock.lock();
+                    }
+                    result=tryLockResult(declaringName,annotation, redisKey, true);
                 }catch (Exception e) {
                     result=tryLockResult(declaringName,annotation, redisKey, false);
                 }
             }
         }else {
-            //非阻塞最大时间大于小于等于-1则一直阻塞
-            boolean tryLock = lock.tryLock();
+            //非阻塞仅尝试一次
+            boolean tryLock = leaseNanos > 0 ? lock.tryLock(0, leaseNanos, TimeUnit.NANOSECONDS) : lock.tryLock();
             result=tryLockResult(declaringName,annotation, redisKey, tryLock);
         }
         return result;
@@ -185,4 +516,33 @@ public class RedisLockInterceptor implements MethodInterceptor {
         }
         return result;
     }
+
+    /**
+     * 一次异步加锁
+     */
+    private static final class AsyncLock {
+
+        /**
+         * 响应式加锁未成功标识
+         */
+        private static final AsyncLock NOT_LOCKED = new AsyncLock(0L);
+
+        /**
+         * 锁持有者标识
+         */
+        private final long lockId;
+
+        private final long start = System.nanoTime();
+
+        private volatile long acquiredAt;
+
+        /**
+         * FencedLock 防护令牌
+         */
+        private volatile long fencingToken = CnaRedisLockContext.NO_FENCING_TOKEN;
+
+        private AsyncLock(long lockId) {
+            this.lockId = lockId;
+        }
+    }
 }
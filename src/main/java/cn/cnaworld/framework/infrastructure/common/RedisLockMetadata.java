@@ -0,0 +1,138 @@
+package cn.cnaworld.framework.infrastructure.common;
+
+import cn.cnaworld.framework.infrastructure.annotation.CnaRedisLock;
+import cn.cnaworld.framework.infrastructure.properties.CnaworldRedisProperties;
+import cn.cnaworld.framework.infrastructure.statics.LockType;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * 方法级分布式锁元数据
+ * 每个方法仅在首次调用时解析一次，避免每次调用反射获取注解、拼接方法名及实例化异常处理器
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@Getter
+final class RedisLockMetadata {
+
+    private final CnaRedisLock annotation;
+
+    /**
+     * 方法全限定名
+     */
+    private final String declaringName;
+
+    private final RedisKeyGenerator keyGenerator;
+
+    /**
+     * 方法返回值类型，异步返回值在异步结果完成后才解除锁定
+     */
+    private final ReturnType returnType;
+
+    /**
+     * 锁持有纳秒数，-1 使用看门狗续期
+     */
+    private final long leaseNanos;
+
+    /**
+     * 是否分配防护令牌
+     */
+    private final boolean fenced;
+
+    private final RedisLockMeters meters;
+
+    /**
+     * 异常处理器单例，实例化失败时为null
+     */
+    private final ExceptionCallBack exceptionCallBack;
+
+    /**
+     * 异常处理器实例化异常
+     */
+    private final Exception exceptionCallBackError;
+
+    RedisLockMetadata(Method method, CnaworldRedisProperties properties, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.annotation = method.getAnnotation(CnaRedisLock.class);
+        this.declaringName = method.getDeclaringClass().getName() + "." + method.getName();
+        this.keyGenerator = new RedisKeyGenerator(method, declaringName, annotation.prefix(), annotation.key(), annotation.paramsAsKey(), annotation.paramAsMultiKey());
+        this.returnType = ReturnType.of(method.getReturnType());
+        this.leaseNanos = leaseNanos(annotation, properties.getLock().getLeaseTime());
+        this.fenced = annotation.lockType() == LockType.FencedLock;
+        //令牌随单把锁的加锁脚本分配，联锁的多把锁无法得到一个统一的令牌
+        Assert.isTrue(!fenced || annotation.paramAsMultiKey().isEmpty(), "FencedLock 不支持 paramAsMultiKey : " + declaringName);
+        this.meters = new RedisLockMeters(meterRegistryProvider, properties.getLock(), method, declaringName, annotation.prefix());
+        ExceptionCallBack callBack = null;
+        Exception callBackError = null;
+        try {
+            callBack = annotation.exceptionCallBack().newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            callBackError = e;
+        }
+        this.exceptionCallBack = callBack;
+        this.exceptionCallBackError = callBackError;
+    }
+
+    /**
+     * 注解配置优先，未配置则使用全局配置
+     */
+    private static long leaseNanos(CnaRedisLock annotation, Duration defaultLeaseTime) {
+        if (annotation.leaseTime() > 0) {
+            return annotation.timeUnit().toNanos(annotation.leaseTime());
+        }
+        if (annotation.leaseTime() == 0 && defaultLeaseTime != null && !defaultLeaseTime.isNegative() && !defaultLeaseTime.isZero()) {
+            return defaultLeaseTime.toNanos();
+        }
+        return -1;
+    }
+
+    /**
+     * 方法返回值类型
+     */
+    enum ReturnType {
+
+        /**
+         * 同步返回
+         */
+        BLOCKING,
+
+        /**
+         * CompletionStage / CompletableFuture
+         */
+        COMPLETION_STAGE,
+
+        /**
+         * reactor Mono
+         */
+        MONO,
+
+        /**
+         * reactor Flux
+         */
+        FLUX;
+
+        static ReturnType of(Class<?> returnType) {
+            if (returnType == Mono.class) {
+                return MONO;
+            }
+            if (returnType == Flux.class) {
+                return FLUX;
+            }
+            //仅处理可由CompletableFuture承接的声明类型
+            if (CompletionStage.class.isAssignableFrom(returnType) && returnType.isAssignableFrom(CompletableFuture.class)) {
+                return COMPLETION_STAGE;
+            }
+            return BLOCKING;
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package cn.cnaworld.framework.infrastructure.common;
+
+import cn.cnaworld.framework.infrastructure.properties.CnaworldRedisProperties;
+import cn.cnaworld.framework.infrastructure.utils.log.CnaLogUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 方法级分布式锁指标及慢锁日志
+ * 存在 MeterRegistry 且开启指标时由 RedisLockTimers 记录 micrometer 指标，本类不直接引用 micrometer ，未引入 micrometer 时仅打印慢锁日志
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@Slf4j
+final class RedisLockMeters {
+
+    private final String declaringName;
+
+    /**
+     * 慢锁日志阈值纳秒数，-1 关闭
+     */
+    private final long slowThresholdNanos;
+
+    /**
+     * micrometer 指标，不存在 MeterRegistry 或关闭指标时为null
+     */
+    private final RedisLockTimers timers;
+
+    /**
+     * @param meterRegistryProvider 仅在存在 micrometer 时传入，为null或关闭指标时仅打印慢锁日志
+     */
+    RedisLockMeters(ObjectProvider<MeterRegistry> meterRegistryProvider, CnaworldRedisProperties.Lock properties, Method method,
+                    String declaringName, String prefix) {
+        this.declaringName = declaringName;
+        Duration slowThreshold = properties.getSlowThreshold();
+        this.slowThresholdNanos = slowThreshold == null || slowThreshold.isNegative() ? -1 : slowThreshold.toNanos();
+        this.timers = meterRegistryProvider != null && properties.isMetricsEnabled()
+                ? RedisLockTimers.create(meterRegistryProvider, properties, method, declaringName, prefix) : null;
+    }
+
+    /**
+     * 加锁成功
+     */
+    void acquired(String redisKey, long waitNanos) {
+        if (timers != null) {
+            timers.acquired(waitNanos);
+        }
+        if (slowThresholdNanos > -1 && waitNanos > slowThresholdNanos) {
+            CnaLogUtil.warn(log, "方法：{} , redisKey ：{} ,分布式锁等待耗时 {} ms", declaringName, redisKey, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        }
+    }
+
+    /**
+     * 未获取到锁
+     */
+    void timeout(String redisKey, long waitNanos) {
+        if (timers != null) {
+            timers.timeout(waitNanos);
+        }
+        if (slowThresholdNanos > -1 && waitNanos > slowThresholdNanos) {
+            CnaLogUtil.warn(log, "方法：{} , redisKey ：{} ,分布式锁等待 {} ms 后未获取到锁", declaringName, redisKey, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        }
+    }
+
+    /**
+     * 解除锁定，解锁异常同样视为锁持有结束
+     */
+    void released(String redisKey, long holdNanos, boolean success) {
+        if (timers != null) {
+            timers.released(holdNanos, success);
+        }
+        if (slowThresholdNanos > -1 && holdNanos > slowThresholdNanos) {
+            CnaLogUtil.warn(log, "方法：{} , redisKey ：{} ,分布式锁持有耗时 {} ms", declaringName, redisKey, TimeUnit.NANOSECONDS.toMillis(holdNanos));
+        }
+    }
+
+    /**
+     * 加锁异常
+     */
+    void lockFailed() {
+        if (timers != null) {
+            timers.lockFailed();
+        }
+    }
+
+}
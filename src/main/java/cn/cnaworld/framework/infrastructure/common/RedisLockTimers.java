@@ -0,0 +1,111 @@
+package cn.cnaworld.framework.infrastructure.common;
+
+import cn.cnaworld.framework.infrastructure.properties.CnaworldRedisProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 方法级分布式锁 micrometer 指标，micrometer 为可选依赖，仅在存在 MeterRegistry 时加载
+ * 按方法及key前缀打标签，不使用完整key，避免标签基数无限增长；方法标签包含参数类型，重载方法的指标互不合并
+ * cnaworld.redis.lock.wait 加锁等待耗时
+ * cnaworld.redis.lock.hold 锁持有耗时
+ * cnaworld.redis.lock.timeout 加锁超时（未获取到锁）次数
+ * cnaworld.redis.lock.failure 加锁、解锁异常次数
+ * cnaworld.redis.lock.active 当前持有锁的调用数
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+final class RedisLockTimers {
+
+    private final Timer waitTimer;
+
+    private final Timer holdTimer;
+
+    private final Counter timeoutCounter;
+
+    private final Counter lockFailureCounter;
+
+    private final Counter unlockFailureCounter;
+
+    private final AtomicInteger active;
+
+    private RedisLockTimers(MeterRegistry registry, CnaworldRedisProperties.Lock properties, Method method, String declaringName, String prefix) {
+        Tags tags = Tags.of("method", methodTag(method, declaringName), "prefix", StringUtils.isNotBlank(prefix) ? prefix : "none");
+        this.waitTimer = Timer.builder("cnaworld.redis.lock.wait")
+                .description("分布式锁加锁等待耗时")
+                .tags(tags)
+                .publishPercentileHistogram(properties.isMetricsHistogram())
+                .register(registry);
+        this.holdTimer = Timer.builder("cnaworld.redis.lock.hold")
+                .description("分布式锁持有耗时")
+                .tags(tags)
+                .publishPercentileHistogram(properties.isMetricsHistogram())
+                .register(registry);
+        this.timeoutCounter = Counter.builder("cnaworld.redis.lock.timeout")
+                .description("分布式锁未获取到锁次数")
+                .tags(tags)
+                .register(registry);
+        this.lockFailureCounter = Counter.builder("cnaworld.redis.lock.failure")
+                .description("分布式锁加解锁异常次数")
+                .tags(tags.and("action", "lock"))
+                .register(registry);
+        this.unlockFailureCounter = Counter.builder("cnaworld.redis.lock.failure")
+                .description("分布式锁加解锁异常次数")
+                .tags(tags.and("action", "unlock"))
+                .register(registry);
+        this.active = registry.gauge("cnaworld.redis.lock.active", tags, new AtomicInteger());
+    }
+
+    /**
+     * @return 容器中不存在 MeterRegistry 时为null
+     */
+    static RedisLockTimers create(ObjectProvider<MeterRegistry> meterRegistryProvider, CnaworldRedisProperties.Lock properties,
+                                  Method method, String declaringName, String prefix) {
+        MeterRegistry registry = meterRegistryProvider.getIfAvailable();
+        return registry == null ? null : new RedisLockTimers(registry, properties, method, declaringName, prefix);
+    }
+
+    /**
+     * 方法全限定名及参数类型，如 com.example.OrderService.pay(java.lang.String,int)
+     */
+    private static String methodTag(Method method, String declaringName) {
+        StringJoiner parameters = new StringJoiner(",", "(", ")");
+        for (Class<?> type : method.getParameterTypes()) {
+            parameters.add(type.getTypeName());
+        }
+        return declaringName + parameters;
+    }
+
+    void acquired(long waitNanos) {
+        waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+        active.incrementAndGet();
+    }
+
+    void timeout(long waitNanos) {
+        waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+        timeoutCounter.increment();
+    }
+
+    void released(long holdNanos, boolean success) {
+        holdTimer.record(holdNanos, TimeUnit.NANOSECONDS);
+        active.decrementAndGet();
+        if (!success) {
+            unlockFailureCounter.increment();
+        }
+    }
+
+    void lockFailed() {
+        lockFailureCounter.increment();
+    }
+
+}
@@ -0,0 +1,176 @@
+package cn.cnaworld.framework.infrastructure.common;
+
+import cn.cnaworld.framework.infrastructure.annotation.CnaRedisRateLimit;
+import cn.cnaworld.framework.infrastructure.utils.log.CnaLogUtil;
+import cn.cnaworld.framework.infrastructure.utils.redis.CnaRedisUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.redisson.api.RRateLimiter;
+import org.redisson.api.RateIntervalUnit;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 分布式限流切面
+ * 方法执行前获取令牌，未获取到令牌时回调异常处理器并返回空结果
+ * 访问限流器异常时回调异常处理器，异常处理器未抛出异常则继续执行方法
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@Slf4j
+public class RedisRateLimitInterceptor implements MethodInterceptor {
+
+    /**
+     * 限流器key前缀，避免与相同key的分布式锁冲突
+     */
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    /**
+     * 限流器缓存上限，超过后淘汰最久未使用且本地租借令牌已用完或过期的限流器，至上限的3/4
+     */
+    private static final int MAX_CACHED_LIMITERS = 10000;
+
+    /**
+     * 方法级元数据缓存
+     */
+    private final Map<Method, RedisRateLimitMetadata> metadataCache = new ConcurrentHashMap<>(64);
+
+    /**
+     * 已初始化速率的限流器，按key缓存，避免每次调用访问redis设置速率
+     * 读取无锁，超过上限时由新增限流器的一个线程批量淘汰，持有未过期租借令牌的限流器不淘汰，淘汰后重新初始化不影响redis中已存在的限流器
+     */
+    private final Map<String, LeasedRateLimiter> limiters = new ConcurrentHashMap<>(256);
+
+    /**
+     * 是否有线程正在淘汰限流器
+     */
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RedisRateLimitMetadata metadata = getMetadata(invocation.getMethod());
+        String redisKey = null;
+        try {
+            redisKey = metadata.getKeyGenerator().generate(invocation.getArguments());
+            if (!getLimiter(metadata, redisKey).tryAcquire(metadata.getAnnotation().permits(), metadata.getWaitMillis())) {
+                extractedCallBack(metadata, redisKey, null);
+                return rejected(metadata);
+            }
+        } catch (Exception e) {
+            extractedCallBack(metadata, redisKey, e);
+        }
+        return invocation.proceed();
+    }
+
+    /**
+     * 获取限流器，首次使用时设置速率，已存在的限流器保留原有速率
+     */
+    private LeasedRateLimiter getLimiter(RedisRateLimitMetadata metadata, String redisKey) {
+        LeasedRateLimiter limiter = limiters.get(redisKey);
+        if (limiter != null) {
+            limiter.touch();
+            return limiter;
+        }
+        //并发初始化时重复设置速率，保留原有速率
+        CnaRedisRateLimit annotation = metadata.getAnnotation();
+        RRateLimiter rateLimiter = CnaRedisUtil.getRateLimiter(KEY_PREFIX + redisKey);
+        rateLimiter.trySetRate(annotation.rateType(), annotation.rate(), metadata.getIntervalMillis(), RateIntervalUnit.MILLISECONDS);
+        limiter = new LeasedRateLimiter(rateLimiter, metadata.getLocalBatch(), TimeUnit.MILLISECONDS.toNanos(metadata.getIntervalMillis()));
+        LeasedRateLimiter existing = limiters.putIfAbsent(redisKey, limiter);
+        if (existing != null) {
+            return existing;
+        }
+        if (limiters.size() > MAX_CACHED_LIMITERS) {
+            evict();
+        }
+        return limiter;
+    }
+
+    /**
+     * 淘汰最久未使用且未持有租借令牌的限流器，直至上限的3/4，其他线程正在淘汰时直接返回
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int excess = limiters.size() - MAX_CACHED_LIMITERS * 3 / 4;
+            List<Map.Entry<String, LeasedRateLimiter>> idle = new ArrayList<>(limiters.size());
+            for (Map.Entry<String, LeasedRateLimiter> entry : limiters.entrySet()) {
+                if (!entry.getValue().hasLease()) {
+                    idle.add(entry);
+                }
+            }
+            if (excess <= 0 || idle.isEmpty()) {
+                return;
+            }
+            //按使用时间快照取淘汰分界，淘汰期间被再次使用的限流器保留
+            long[] lastUsed = new long[idle.size()];
+            for (int i = 0; i < lastUsed.length; i++) {
+                lastUsed[i] = idle.get(i).getValue().getLastUsed();
+            }
+            Arrays.sort(lastUsed);
+            long cutoff = lastUsed[Math.min(excess, lastUsed.length) - 1];
+            for (Map.Entry<String, LeasedRateLimiter> entry : idle) {
+                if (excess <= 0) {
+                    break;
+                }
+                if (entry.getValue().getLastUsed() <= cutoff && limiters.remove(entry.getKey(), entry.getValue())) {
+                    excess--;
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * 限流时的返回值
+     */
+    private static Object rejected(RedisRateLimitMetadata metadata) {
+        switch (metadata.getReturnType()) {
+            case COMPLETION_STAGE:
+                return CompletableFuture.completedFuture(null);
+            case MONO:
+                return Mono.empty();
+            case FLUX:
+                return Flux.empty();
+            case BLOCKING:
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 获取方法元数据，首次调用时解析
+     */
+    private RedisRateLimitMetadata getMetadata(Method method) {
+        RedisRateLimitMetadata metadata = metadataCache.get(method);
+        if (metadata == null) {
+            metadata = metadataCache.computeIfAbsent(method, RedisRateLimitMetadata::new);
+        }
+        return metadata;
+    }
+
+    private void extractedCallBack(RedisRateLimitMetadata metadata, String redisKey, Exception e) {
+        ExceptionCallBack exceptionCallBack = metadata.getExceptionCallBack();
+        if (exceptionCallBack != null) {
+            exceptionCallBack.callback(metadata.getDeclaringName(), redisKey, "rateLimit", e);
+        } else {
+            CnaLogUtil.error(log,"方法：{} , redisKey ：{} ,分布式限流 , 异常处理回调实例化异常" , metadata.getDeclaringName(), redisKey, metadata.getExceptionCallBackError(),e);
+        }
+    }
+
+}
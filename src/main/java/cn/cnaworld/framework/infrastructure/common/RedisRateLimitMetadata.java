@@ -0,0 +1,78 @@
+package cn.cnaworld.framework.infrastructure.common;
+
+import cn.cnaworld.framework.infrastructure.annotation.CnaRedisRateLimit;
+import lombok.Getter;
+
+import java.lang.reflect.Method;
+
+/**
+ * 方法级限流元数据
+ * 每个方法仅在首次调用时解析一次
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@Getter
+final class RedisRateLimitMetadata {
+
+    private final CnaRedisRateLimit annotation;
+
+    /**
+     * 方法全限定名
+     */
+    private final String declaringName;
+
+    private final RedisKeyGenerator keyGenerator;
+
+    /**
+     * 方法返回值类型，限流时按类型返回空结果
+     */
+    private final RedisLockMetadata.ReturnType returnType;
+
+    /**
+     * 产生令牌的时间间隔毫秒数
+     */
+    private final long intervalMillis;
+
+    /**
+     * 获取令牌的最大等待毫秒数
+     */
+    private final long waitMillis;
+
+    /**
+     * 本地租借令牌数，0 不租借
+     */
+    private final long localBatch;
+
+    /**
+     * 异常处理器单例，实例化失败时为null
+     */
+    private final ExceptionCallBack exceptionCallBack;
+
+    /**
+     * 异常处理器实例化异常
+     */
+    private final Exception exceptionCallBackError;
+
+    RedisRateLimitMetadata(Method method) {
+        this.annotation = method.getAnnotation(CnaRedisRateLimit.class);
+        this.declaringName = method.getDeclaringClass().getName() + "." + method.getName();
+        this.keyGenerator = new RedisKeyGenerator(method, declaringName, annotation.prefix(), annotation.key(), annotation.paramsAsKey());
+        this.returnType = RedisLockMetadata.ReturnType.of(method.getReturnType());
+        this.intervalMillis = Math.max(1, annotation.timeUnit().toMillis(annotation.interval()));
+        this.waitMillis = Math.max(0, annotation.timeUnit().toMillis(annotation.waitTime()));
+        long batch = Math.min(annotation.localBatch(), annotation.rate());
+        //单批令牌不足一次调用时不租借
+        this.localBatch = batch >= annotation.permits() ? batch : 0;
+        ExceptionCallBack callBack = null;
+        Exception callBackError = null;
+        try {
+            callBack = annotation.exceptionCallBack().newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            callBackError = e;
+        }
+        this.exceptionCallBack = callBack;
+        this.exceptionCallBackError = callBackError;
+    }
+
+}
@@ -1,6 +1,8 @@
 package cn.cnaworld.framework.infrastructure.config;
 
+import cn.cnaworld.framework.infrastructure.config.actuator.HotKeyEndpointConfig;
 import cn.cnaworld.framework.infrastructure.config.aop.InterceptorConfig;
+import cn.cnaworld.framework.infrastructure.config.listener.RedisListenerConfig;
 import cn.cnaworld.framework.infrastructure.config.redisson.RedissonConfig;
 import cn.cnaworld.framework.infrastructure.properties.CnaworldRedisProperties;
 import cn.cnaworld.framework.infrastructure.utils.redis.CnaRedisUtil;
@@ -16,6 +18,6 @@ import org.springframework.context.annotation.Import;
  */
 @Configuration
 @EnableConfigurationProperties({CnaworldRedisProperties.class})
-@Import(value = {CnaRedisUtil.class, RedissonConfig.class, InterceptorConfig.class})
+@Import(value = {CnaRedisUtil.class, RedissonConfig.class, InterceptorConfig.class, HotKeyEndpointConfig.class, RedisListenerConfig.class})
 public class CnaRedisAutoWiredConfig {}
 
@@ -0,0 +1,24 @@
+package cn.cnaworld.framework.infrastructure.config.actuator;
+
+import cn.cnaworld.framework.infrastructure.utils.redis.CnaRedisUtil;
+import cn.cnaworld.framework.infrastructure.utils.redis.HotKey;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * 热点key端点，暴露后通过 /actuator/cnaredishotkeys 查看
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@Endpoint(id = "cnaredishotkeys")
+public class CnaRedisHotKeyEndpoint {
+
+    @ReadOperation
+    public List<HotKey> hotKeys() {
+        return CnaRedisUtil.hotKeys();
+    }
+
+}
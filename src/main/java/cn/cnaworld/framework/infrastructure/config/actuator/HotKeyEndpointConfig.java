@@ -0,0 +1,24 @@
+package cn.cnaworld.framework.infrastructure.config.actuator;
+
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * 开启热点key探测且存在 actuator 时注册热点key端点
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+@ConditionalOnProperty(prefix = "cnaworld.redis.hot-key", name = "enabled", havingValue = "true")
+public class HotKeyEndpointConfig {
+
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    public CnaRedisHotKeyEndpoint cnaRedisHotKeyEndpoint() {
+        return new CnaRedisHotKeyEndpoint();
+    }
+
+}
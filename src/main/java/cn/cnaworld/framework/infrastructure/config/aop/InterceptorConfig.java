@@ -1,10 +1,19 @@
 package cn.cnaworld.framework.infrastructure.config.aop;
 
+import cn.cnaworld.framework.infrastructure.common.RedisCacheInterceptor;
 import cn.cnaworld.framework.infrastructure.common.RedisLockInterceptor;
+import cn.cnaworld.framework.infrastructure.common.RedisRateLimitInterceptor;
+import cn.cnaworld.framework.infrastructure.properties.CnaworldRedisProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.aop.aspectj.AspectJExpressionPointcut;
 import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.Ordered;
 
 /**
  * @author Lucifer
@@ -12,13 +21,28 @@ import org.springframework.context.annotation.Bean;
  * @since 1.0.5
  */
 @ConditionalOnExpression("#{environment['cnaworld.redis.enabled'] ==null || !environment['cnaworld.redis.enabled'].contains('false')}")
+@Import(InterceptorConfig.MeteredLockConfig.class)
 public class InterceptorConfig {
 
+    private static final String MICROMETER = "io.micrometer.core.instrument.MeterRegistry";
+
     public static final String EXECUTION = "@annotation(cn.cnaworld.framework.infrastructure.annotation.CnaRedisLock)";
 
+    public static final String RATE_LIMIT_EXECUTION = "@annotation(cn.cnaworld.framework.infrastructure.annotation.CnaRedisRateLimit)";
+
+    public static final String CACHE_EXECUTION = "@annotation(cn.cnaworld.framework.infrastructure.annotation.CnaRedisCacheable)"
+            + " || @annotation(cn.cnaworld.framework.infrastructure.annotation.CnaRedisCacheEvict)";
+
+    /**
+     * 未引入 micrometer 时的分布式锁切面，仅打印慢锁日志
+     */
     @Bean
-    public DefaultPointcutAdvisor defaultPointcutAdvisor(){
-        RedisLockInterceptor redisLockInterceptor = new RedisLockInterceptor();
+    @ConditionalOnMissingClass(MICROMETER)
+    public DefaultPointcutAdvisor defaultPointcutAdvisor(CnaworldRedisProperties cnaworldRedisProperties){
+        return lockAdvisor(new RedisLockInterceptor(cnaworldRedisProperties));
+    }
+
+    private static DefaultPointcutAdvisor lockAdvisor(RedisLockInterceptor redisLockInterceptor) {
         AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
         pointcut.setExpression(EXECUTION);
         DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor();
@@ -27,4 +51,45 @@ public class InterceptorConfig {
         return advisor;
     }
 
+    /**
+     * micrometer 为可选依赖，引入时分布式锁切面记录指标，MeterRegistry 在首次解析方法元数据时获取，容器中不存在时不记录
+     */
+    @ConditionalOnClass(name = MICROMETER)
+    public static class MeteredLockConfig {
+
+        @Bean
+        public DefaultPointcutAdvisor defaultPointcutAdvisor(CnaworldRedisProperties cnaworldRedisProperties, ObjectProvider<MeterRegistry> meterRegistryProvider){
+            return lockAdvisor(new RedisLockInterceptor(cnaworldRedisProperties, meterRegistryProvider));
+        }
+
+    }
+
+    /**
+     * 限流切面先于分布式锁切面执行，被限流的调用不参与锁竞争
+     */
+    @Bean
+    public DefaultPointcutAdvisor rateLimitPointcutAdvisor(){
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression(RATE_LIMIT_EXECUTION);
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor();
+        advisor.setPointcut(pointcut);
+        advisor.setAdvice(new RedisRateLimitInterceptor());
+        advisor.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return advisor;
+    }
+
+    /**
+     * 缓存切面先于限流及分布式锁切面执行，命中缓存的调用不消耗令牌、不参与锁竞争
+     */
+    @Bean
+    public DefaultPointcutAdvisor cachePointcutAdvisor(CnaworldRedisProperties cnaworldRedisProperties){
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression(CACHE_EXECUTION);
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor();
+        advisor.setPointcut(pointcut);
+        advisor.setAdvice(new RedisCacheInterceptor(cnaworldRedisProperties));
+        advisor.setOrder(Ordered.LOWEST_PRECEDENCE - 2);
+        return advisor;
+    }
+
 }
@@ -0,0 +1,26 @@
+package cn.cnaworld.framework.infrastructure.config.listener;
+
+import cn.cnaworld.framework.infrastructure.common.RedisListenerProcessor;
+import cn.cnaworld.framework.infrastructure.properties.CnaworldRedisProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * 注册 @CnaRedisListener 队列消费者
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@ConditionalOnExpression("#{environment['cnaworld.redis.enabled'] ==null || !environment['cnaworld.redis.enabled'].contains('false')}")
+public class RedisListenerConfig {
+
+    /**
+     * BeanPostProcessor 使用静态方法注册，避免提前初始化配置类
+     */
+    @Bean
+    public static RedisListenerProcessor redisListenerProcessor(ObjectProvider<CnaworldRedisProperties> propertiesProvider) {
+        return new RedisListenerProcessor(propertiesProvider);
+    }
+
+}
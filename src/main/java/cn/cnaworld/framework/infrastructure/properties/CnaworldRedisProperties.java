@@ -3,8 +3,15 @@ package cn.cnaworld.framework.infrastructure.properties;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.redisson.api.LocalCachedMapOptions;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * cnaworld属性配置
  * @author Lucifer
@@ -23,4 +30,455 @@ public class CnaworldRedisProperties {
      */
     private boolean enable = true;
 
+    /**
+     * 分布式锁注解配置
+     */
+    private Lock lock = new Lock();
+
+    /**
+     * 方法缓存注解配置
+     */
+    private Cache cache = new Cache();
+
+    /**
+     * CnaRedisUtil.getOrLoad 缓存加载配置
+     */
+    private Loader loader = new Loader();
+
+    /**
+     * CnaRedisUtil bucket读取本地缓存配置
+     */
+    private NearCache nearCache = new NearCache();
+
+    /**
+     * CnaRedisUtil bucket及map按key前缀编码配置
+     */
+    private Codec codec = new Codec();
+
+    /**
+     * CnaRedisUtil 单key命令自动合并配置
+     */
+    private Batch batch = new Batch();
+
+    /**
+     * CnaRedisUtil 热点key探测配置
+     */
+    private HotKey hotKey = new HotKey();
+
+    /**
+     * CnaRedisUtil.getBloomFilter 默认容量配置
+     */
+    private BloomFilter bloomFilter = new BloomFilter();
+
+    /**
+     * CnaRedisUtil.getCuckooFilter 默认配置
+     */
+    private CuckooFilter cuckooFilter = new CuckooFilter();
+
+    /**
+     * CnaRedisUtil 托管延迟任务配置
+     */
+    private DelayedTask delayedTask = new DelayedTask();
+
+    /**
+     * CnaRedisListener 注解队列消费配置
+     */
+    private Listener listener = new Listener();
+
+    /**
+     * CnaRedisUtil 流消费组配置
+     */
+    private Stream stream = new Stream();
+
+    @Getter
+    @Setter
+    @ToString
+    public static class Lock {
+
+        /**
+         * 默认锁持有时间，@CnaRedisLock 未配置 leaseTime 时生效
+         * 到期自动释放，不启动看门狗续期；未配置则使用看门狗续期直到解锁
+         */
+        private Duration leaseTime;
+
+        /**
+         * 是否记录加锁等待、锁持有耗时等指标，需存在MeterRegistry
+         */
+        private boolean metricsEnabled = true;
+
+        /**
+         * 等待、持有耗时指标是否发布直方图
+         */
+        private boolean metricsHistogram = true;
+
+        /**
+         * 慢锁日志阈值，加锁等待或锁持有耗时超过阈值打印warn日志，不配置则关闭
+         */
+        private Duration slowThreshold;
+
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class Cache {
+
+        /**
+         * redis中缓存key前缀，每个缓存名称对应一个 keyPrefix + cacheName 的hash
+         */
+        private String keyPrefix = "cnaworld:cache:";
+
+        /**
+         * 默认缓存过期时间，@CnaRedisCacheable 未配置 ttl 且缓存名称未单独配置时生效
+         */
+        private Duration ttl = Duration.ofMinutes(30);
+
+        /**
+         * 默认每个缓存名称的本地缓存最大条目数，超出按LRU淘汰，0 不限制
+         */
+        private int maxSize = 10000;
+
+        /**
+         * 清理redis中已过期缓存的间隔，每个缓存名称首次使用后按该间隔 HSCAN 删除已过期元素，0 不清理
+         */
+        private Duration sweepInterval = Duration.ofMinutes(5);
+
+        /**
+         * 按缓存名称单独配置，优先于注解及默认配置
+         */
+        private Map<String, Spec> caches = new LinkedHashMap<>();
+
+        @Getter
+        @Setter
+        @ToString
+        public static class Spec {
+
+            /**
+             * 缓存过期时间
+             */
+            private Duration ttl;
+
+            /**
+             * 本地缓存最大条目数
+             */
+            private Integer maxSize;
+
+        }
+
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class Loader {
+
+        /**
+         * 跨节点加载守护key的有效期，应大于加载函数的最长执行时间，持有节点异常退出后守护key到期自动释放
+         */
+        private Duration lockTime = Duration.ofSeconds(10);
+
+        /**
+         * 未抢到守护key的节点等待其他节点加载完成的最长时间，超时后返回旧值，无旧值则自行加载
+         */
+        private Duration waitTime = Duration.ofSeconds(2);
+
+        /**
+         * 等待期间轮询redis的间隔
+         */
+        private Duration pollInterval = Duration.ofMillis(50);
+
+        /**
+         * 旧值保留时长，配置后额外保存一份有效期为 ttl + staleTime 的旧值，供等待超时的节点兜底返回，不配置则不保存
+         */
+        private Duration staleTime;
+
+        /**
+         * CnaRedisUtil.getOrRefresh 提前刷新系数，越大越早刷新，1.0 为 XFetch 推荐值
+         */
+        private double beta = 1.0;
+
+        /**
+         * 后台刷新线程数
+         */
+        private int refreshThreads = 2;
+
+        /**
+         * 后台刷新任务队列长度，队列已满时本次不刷新
+         */
+        private int refreshQueueSize = 1000;
+
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class NearCache {
+
+        /**
+         * 开启本地缓存的key前缀，未配置则不开启
+         * 其他客户端的修改通过键空间通知失效本地缓存，需在redis开启 notify-keyspace-events（至少包含 K$gx）
+         */
+        private List<String> prefixes = new ArrayList<>();
+
+        /**
+         * 本地缓存最大条目数，0 不限制
+         */
+        private int maxSize = 10000;
+
+        /**
+         * 本地缓存淘汰策略，支持 LRU 、LFU
+         */
+        private LocalCachedMapOptions.EvictionPolicy evictionPolicy = LocalCachedMapOptions.EvictionPolicy.LRU;
+
+        /**
+         * 本地缓存最长保留时间，作为丢失失效通知时的兜底，不配置则不限制
+         */
+        private Duration timeToLive = Duration.ofMinutes(10);
+
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class Codec {
+
+        /**
+         * 默认压缩阈值字节数，编码后达到阈值的值以gzip压缩保存，-1 不压缩
+         * 作用于未单独配置压缩阈值的前缀规则及未匹配任何前缀的key
+         */
+        private int compressThreshold = -1;
+
+        /**
+         * 按key前缀配置编码，最长前缀优先
+         */
+        private List<Rule> rules = new ArrayList<>();
+
+        @Getter
+        @Setter
+        @ToString
+        public static class Rule {
+
+            /**
+             * key前缀
+             */
+            private String prefix;
+
+            /**
+             * 编码类型，如 org.redisson.client.codec.StringCodec 、org.redisson.codec.SmileJacksonCodec ，不配置使用redisson默认编码
+             */
+            private Class<? extends org.redisson.client.codec.Codec> codec;
+
+            /**
+             * 压缩阈值字节数，-1 不压缩，不配置使用默认压缩阈值
+             */
+            private Integer compressThreshold;
+
+        }
+
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class Batch {
+
+        /**
+         * 是否开启，开启后 CnaRedisUtil 的 get / set / delete 在合并窗口内的并发调用合并为一个管道发送
+         */
+        private boolean enabled = false;
+
+        /**
+         * 合并窗口，从批次的第一个命令开始计时
+         */
+        private Duration window = Duration.ofNanos(200_000);
+
+        /**
+         * 每批最大命令数，达到后立即发送
+         */
+        private int maxOps = 128;
+
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class HotKey {
+
+        /**
+         * 是否开启，开启后对 CnaRedisUtil 单key操作按采样率统计访问频率
+         */
+        private boolean enabled = false;
+
+        /**
+         * 采样率，取值 (0, 1]
+         */
+        private double sampleRate = 0.1;
+
+        /**
+         * 保留的热点key数量
+         */
+        private int topK = 20;
+
+        /**
+         * 统计窗口，每个窗口结束时计数减半
+         */
+        private Duration window = Duration.ofMinutes(1);
+
+        /**
+         * 每秒访问次数超过该值的key提升到JVM本地缓存，0 为不提升
+         */
+        private double promoteRate = 0;
+
+        /**
+         * 提升到本地缓存的有效期，期间其他节点的修改不可见
+         */
+        private Duration promoteTtl = Duration.ofSeconds(1);
+
+        /**
+         * 本地缓存最大数量
+         */
+        private int promoteMaxSize = 1000;
+
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class BloomFilter {
+
+        /**
+         * 预计元素数量，过滤器首次创建时生效
+         */
+        private long expectedInsertions = 55000000L;
+
+        /**
+         * 期望误判率，过滤器首次创建时生效
+         */
+        private double falseProbability = 0.03;
+
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class CuckooFilter {
+
+        /**
+         * 分片数，各分片分布到不同slot，过滤器首次创建时生效
+         */
+        private int shards = 16;
+
+        /**
+         * 每个分片首层桶数，必须为2的幂，每桶4个元素，过滤器首次创建时生效
+         */
+        private long initialBuckets = 1024;
+
+        /**
+         * 插入时最大踢出次数，超过后新增一层
+         */
+        private int maxKicks = 500;
+
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class DelayedTask {
+
+        /**
+         * 执行任务的工作线程数，已领取未完成的任务数不超过工作线程数的2倍
+         */
+        private int workers = 8;
+
+        /**
+         * 每个队列单次领取的最大任务数
+         */
+        private int batchSize = 100;
+
+        /**
+         * 没有到期任务时的轮询间隔
+         */
+        private Duration pollInterval = Duration.ofMillis(200);
+
+        /**
+         * 可见性超时，领取后超过该时间未确认的任务重新投递，应大于任务最长执行时间
+         */
+        private Duration visibilityTimeout = Duration.ofSeconds(30);
+
+        /**
+         * 任务执行失败后的重试间隔
+         */
+        private Duration retryDelay = Duration.ofSeconds(10);
+
+        /**
+         * 最大投递次数，达到后移入死信
+         */
+        private int maxAttempts = 10;
+
+        /**
+         * 关闭时等待已领取任务执行完成的时间
+         */
+        private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class Listener {
+
+        /**
+         * 关闭时等待已拉取元素处理完成的时间，超时后中断消费线程
+         */
+        private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class Stream {
+
+        /**
+         * 每个 流 + 消费组 的消费线程数，每个线程是消费组中的一个消费者
+         */
+        private int consumers = 1;
+
+        /**
+         * 单次读取的最大消息数 XREADGROUP COUNT
+         */
+        private int batchSize = 100;
+
+        /**
+         * 没有新消息时单次阻塞等待的时间 XREADGROUP BLOCK ，按秒取整且最小1秒，同时决定关闭时停止读取的最长延迟
+         */
+        private Duration block = Duration.ofSeconds(2);
+
+        /**
+         * 待处理消息空闲超过该时间后可被其他消费者认领，应大于批量处理的最长时间
+         */
+        private Duration claimIdle = Duration.ofSeconds(60);
+
+        /**
+         * 认领空闲待处理消息的间隔
+         */
+        private Duration claimInterval = Duration.ofSeconds(30);
+
+        /**
+         * CnaRedisUtil.streamAdd 默认近似裁剪长度 MAXLEN ~ ，0 不裁剪
+         */
+        private int maxLen = 0;
+
+        /**
+         * 最大投递次数，认领时投递次数超过该值的消息移入死信流 流:消费组:dead 并确认，0 不限制
+         */
+        private int maxDeliveries = 10;
+
+        /**
+         * 关闭时等待已读取消息处理完成的时间
+         */
+        private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    }
+
 }
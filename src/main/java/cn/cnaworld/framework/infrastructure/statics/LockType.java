@@ -15,6 +15,30 @@ public enum LockType {
     /**
      *  可重入公平锁 Fair Reentrant
      */
-    FairLock
+    FairLock,
+
+    /**
+     * 可重入读写锁的读锁 ReadWriteLock.readLock
+     * 多个读锁可同时持有，与写锁互斥
+     */
+    ReadLock,
+
+    /**
+     * 可重入读写锁的写锁 ReadWriteLock.writeLock
+     * 与其他读锁、写锁互斥
+     */
+    WriteLock,
+
+    /**
+     * 自旋锁 Spin Lock
+     * 不依赖 pub/sub 订阅解锁通知，以指数退避重试加锁，适用于持有时间很短的临界区及主从切换频繁的场景
+     */
+    SpinLock,
+
+    /**
+     * 防护令牌锁 Fenced Lock
+     * 可重入锁，加锁的同一个 Lua 脚本中分配单调递增的防护令牌，通过 CnaRedisLockContext 获取，不支持 paramAsMultiKey
+     */
+    FencedLock
 
 }
@@ -0,0 +1,298 @@
+package cn.cnaworld.framework.infrastructure.utils.redis;
+
+import cn.cnaworld.framework.infrastructure.properties.CnaworldRedisProperties;
+import io.netty.buffer.ByteBuf;
+import org.redisson.RedissonObject;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBitSetAsync;
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RFuture;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.misc.Hash;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 布隆过滤器句柄缓存及批量操作
+ * 每个key只在首次获取或容量参数变化时 tryInit 并读取配置；批量操作在本地按 redisson 相同的方式计算下标（编码后 Hash.hash128 ），
+ * 配置校验及全部元素的位操作组成一个 RBatch 管道发送，结果与逐个调用 add / contains 一致
+ * 过滤器被删除、过期或重建后，缓存的实例在报配置变更时按原容量重新初始化（已存在时以redis中的配置为准）并重试一次
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+final class BloomFilters {
+
+    /**
+     * 与 RedissonBloomFilter 相同的配置校验，配置被删除或修改时报错
+     */
+    private static final String CONFIG_CHECK = "local size = redis.call('hget', KEYS[1], 'size');"
+            + "local hashIterations = redis.call('hget', KEYS[1], 'hashIterations');"
+            + "assert(size == ARGV[1] and hashIterations == ARGV[2], 'Bloom filter config has been changed')";
+
+    private static final String CONFIG_CHANGED = "Bloom filter config has been changed";
+
+    private final CnaworldRedisProperties.BloomFilter properties;
+
+    private final ConcurrentHashMap<String, Handle> handles = new ConcurrentHashMap<>();
+
+    BloomFilters(CnaworldRedisProperties.BloomFilter properties) {
+        this.properties = properties;
+    }
+
+    <V> RBloomFilter<V> get(RedissonClient redisson, String key) {
+        return get(redisson, key, properties.getExpectedInsertions(), properties.getFalseProbability());
+    }
+
+    @SuppressWarnings("unchecked")
+    <V> RBloomFilter<V> get(RedissonClient redisson, String key, long expectedInsertions, double falseProbability) {
+        return (RBloomFilter<V>) handle(redisson, key, expectedInsertions, falseProbability).proxy;
+    }
+
+    /**
+     * @return 与 values 顺序一致，true 为此前不存在
+     */
+    <V> List<Boolean> addAll(RedissonClient redisson, String key, Collection<V> values) {
+        return execute(redisson, key, values, true);
+    }
+
+    /**
+     * @return 与 values 顺序一致，true 为可能存在
+     */
+    <V> List<Boolean> containsAll(RedissonClient redisson, String key, Collection<V> values) {
+        return execute(redisson, key, values, false);
+    }
+
+    private <V> List<Boolean> execute(RedissonClient redisson, String key, Collection<V> values, boolean add) {
+        if (values.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Handle handle = handles.get(key);
+        if (handle == null) {
+            handle = handle(redisson, key, properties.getExpectedInsertions(), properties.getFalseProbability());
+        }
+        return execute(redisson, key, handle, hashes(handle, values), add);
+    }
+
+    /**
+     * 配置变更时按原容量重新初始化并重试一次
+     */
+    private List<Boolean> execute(RedissonClient redisson, String key, Handle handle, List<long[]> hashes, boolean add) {
+        List<List<RFuture<Boolean>>> futures = new ArrayList<>(hashes.size());
+        try {
+            send(redisson, key, handle, hashes, add, futures);
+            return results(futures, add, null);
+        } catch (RedisException e) {
+            if (!isConfigChanged(e)) {
+                throw e;
+            }
+            List<List<RFuture<Boolean>>> retried = new ArrayList<>(hashes.size());
+            send(redisson, key, recover(redisson, key, handle), hashes, add, retried);
+            //管道非原子，校验失败时位操作已执行，add 需结合首次的结果判断是否新增
+            return results(retried, add, add ? futures : null);
+        }
+    }
+
+    private void send(RedissonClient redisson, String key, Handle handle, List<long[]> hashes, boolean add,
+                      List<List<RFuture<Boolean>>> futures) {
+        RBatch batch = redisson.createBatch(BatchOptions.defaults());
+        String configName = RedissonObject.suffixName(key, "config");
+        batch.getScript(StringCodec.INSTANCE).evalAsync(configName, RScript.Mode.READ_ONLY, CONFIG_CHECK, RScript.ReturnType.VALUE,
+                Collections.singletonList(configName), handle.size, handle.hashIterations);
+        RBitSetAsync bits = batch.getBitSet(key);
+        for (long[] hash : hashes) {
+            long[] indexes = indexes(hash[0], hash[1], handle.hashIterations, handle.size);
+            List<RFuture<Boolean>> probes = new ArrayList<>(indexes.length);
+            for (long index : indexes) {
+                probes.add(add ? bits.setAsync(index) : bits.getAsync(index));
+            }
+            futures.add(probes);
+        }
+        batch.execute();
+    }
+
+    private static List<Boolean> results(List<List<RFuture<Boolean>>> futures, boolean add, List<List<RFuture<Boolean>>> previous) {
+        List<Boolean> results = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            boolean result = result(futures.get(i), add);
+            if (previous != null && !result) {
+                result = result(previous.get(i), add);
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    private static boolean result(List<RFuture<Boolean>> probes, boolean add) {
+        //add：任意一位此前为0即为新增；contains：全部位为1才可能存在
+        for (RFuture<Boolean> probe : probes) {
+            CompletableFuture<Boolean> future = probe.toCompletableFuture();
+            if (future.isDone() && !future.isCompletedExceptionally() && !future.join()) {
+                return add;
+            }
+        }
+        return !add;
+    }
+
+    private static <V> List<long[]> hashes(Handle handle, Collection<V> values) {
+        List<long[]> hashes = new ArrayList<>(values.size());
+        for (V value : values) {
+            ByteBuf state = ((RedissonObject) handle.filter).encode(value);
+            try {
+                hashes.add(Hash.hash128(state));
+            } finally {
+                state.release();
+            }
+        }
+        return hashes;
+    }
+
+    /**
+     * 获取缓存的句柄，容量参数与缓存不一致时重新 tryInit
+     */
+    private Handle handle(RedissonClient redisson, String key, long expectedInsertions, double falseProbability) {
+        Handle handle = handles.get(key);
+        if (handle != null && handle.expectedInsertions == expectedInsertions && handle.falseProbability == falseProbability) {
+            return handle;
+        }
+        RBloomFilter<Object> filter = redisson.getBloomFilter(key);
+        //RedissonBloomFilter.tryInit 的校验与写入不在同一原子操作中，配置已存在时也会被覆盖，仅在不存在时初始化，以redis中的配置为准
+        if (redisson.getKeys().countExists(RedissonObject.suffixName(key, "config")) == 0) {
+            filter.tryInit(expectedInsertions, falseProbability);
+        }
+        handle = new Handle(filter, filter.getSize(), filter.getHashIterations(), expectedInsertions, falseProbability,
+                new RecoveringFilter(redisson, key));
+        handles.put(key, handle);
+        return handle;
+    }
+
+    /**
+     * 配置变更后丢弃失效的句柄，按原容量重新初始化，其他线程已重新初始化时直接使用
+     */
+    private Handle recover(RedissonClient redisson, String key, Handle stale) {
+        handles.remove(key, stale);
+        Handle recovered = handle(redisson, key, stale.expectedInsertions, stale.falseProbability);
+        //已返回给调用方的实例沿此切换到新的句柄
+        stale.successor = recovered;
+        return recovered;
+    }
+
+    private static boolean isConfigChanged(Throwable e) {
+        return e instanceof RedisException && e.getMessage() != null && e.getMessage().contains(CONFIG_CHANGED);
+    }
+
+    /**
+     * 与 RedissonBloomFilter 一致的下标计算
+     */
+    private static long[] indexes(long hash1, long hash2, int iterations, long size) {
+        long[] indexes = new long[iterations];
+        long hash = hash1;
+        for (int i = 0; i < iterations; i++) {
+            indexes[i] = (hash & Long.MAX_VALUE) % size;
+            if (i % 2 == 0) {
+                hash += hash2;
+            } else {
+                hash += hash1;
+            }
+        }
+        return indexes;
+    }
+
+    private static final class Handle {
+
+        private final RBloomFilter<Object> filter;
+
+        private final long size;
+
+        private final int hashIterations;
+
+        private final long expectedInsertions;
+
+        private final double falseProbability;
+
+        /**
+         * 返回给调用方的实例，配置变更时自动恢复
+         */
+        private final RBloomFilter<?> proxy;
+
+        /**
+         * 配置变更后重新初始化的句柄
+         */
+        private volatile Handle successor;
+
+        private Handle(RBloomFilter<Object> filter, long size, int hashIterations, long expectedInsertions, double falseProbability,
+                       RecoveringFilter recovering) {
+            this.filter = filter;
+            this.size = size;
+            this.hashIterations = hashIterations;
+            this.expectedInsertions = expectedInsertions;
+            this.falseProbability = falseProbability;
+            recovering.handle = this;
+            this.proxy = (RBloomFilter<?>) Proxy.newProxyInstance(RBloomFilter.class.getClassLoader(),
+                    new Class<?>[]{RBloomFilter.class}, recovering);
+        }
+    }
+
+    /**
+     * 调用缓存的 RBloomFilter ，报配置变更时重新初始化并重试一次，与每次调用 tryInit 一样可自行恢复
+     */
+    private final class RecoveringFilter implements InvocationHandler {
+
+        private final RedissonClient redisson;
+
+        private final String key;
+
+        private volatile Handle handle;
+
+        private RecoveringFilter(RedissonClient redisson, String key) {
+            this.redisson = redisson;
+            this.key = key;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Handle current = handle;
+            if (current.successor != null) {
+                while (current.successor != null) {
+                    current = current.successor;
+                }
+                handle = current;
+            }
+            try {
+                return invoke(current, method, args);
+            } catch (RedisException e) {
+                if (!isConfigChanged(e)) {
+                    throw e;
+                }
+                return invoke(recover(redisson, key, current), method, args);
+            }
+        }
+
+        private Object invoke(Handle target, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (args != null && args.length == 1 && ("add".equals(name) || "contains".equals(name))) {
+                //RedissonBloomFilter 的单元素 add/contains 在配置变更时不返回，走与批量操作相同的校验及恢复
+                return execute(redisson, key, target, hashes(target, Collections.singletonList(args[0])), "add".equals(name)).get(0);
+            }
+            try {
+                return method.invoke(target.filter, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+}
@@ -1,20 +1,35 @@
 package cn.cnaworld.framework.infrastructure.utils.redis;
 
+import cn.cnaworld.framework.infrastructure.properties.CnaworldRedisProperties;
 import cn.cnaworld.framework.infrastructure.utils.log.CnaLogUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.redisson.Redisson;
 import org.redisson.RedissonMultiLock;
 import org.redisson.RedissonRedLock;
 import org.redisson.api.*;
+import org.redisson.client.codec.Codec;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Supplier;
 
 /**
  * redis客户端实现
@@ -35,10 +50,24 @@ public class CnaRedisUtil{
 	private RedissonReactiveClient redissonReactiveClient;
 	@Autowired
 	private RedissonRxClient redissonRxClient;
+	@Autowired(required = false)
+	private CnaworldRedisProperties cnaworldRedisProperties;
 
 	private static RedissonClient redisson;
 	private static RedissonReactiveClient redissonReactive;
 	private static RedissonRxClient redissonRx;
+	private static SingleFlightLoader singleFlightLoader = new SingleFlightLoader(new CnaworldRedisProperties.Loader());
+	private static EarlyRefreshLoader earlyRefreshLoader = new EarlyRefreshLoader(new CnaworldRedisProperties.Loader(), singleFlightLoader);
+	private static volatile NearCache nearCache;
+	private static volatile KeyCodecs keyCodecs;
+	private static volatile CommandBatcher commandBatcher;
+	private static volatile HotKeyDetector hotKeyDetector;
+	private static BloomFilters bloomFilters = new BloomFilters(new CnaworldRedisProperties.BloomFilter());
+	private static CnaworldRedisProperties.CuckooFilter cuckooFilterProperties = new CnaworldRedisProperties.CuckooFilter();
+	private static final Map<String, CuckooFilter<?>> cuckooFilters = new ConcurrentHashMap<>();
+	private static volatile DelayedTaskScheduler delayedTaskScheduler;
+	private static CnaworldRedisProperties.Stream streamProperties = new CnaworldRedisProperties.Stream();
+	private static volatile StreamWorkers streamWorkers;
 
 	public static RedissonClient redisson() {
 		Assert.notNull(redisson,"redisson 加载失败");
@@ -63,10 +92,134 @@ public class CnaRedisUtil{
 			redisson=redissonClient;
 			redissonReactive=redissonReactiveClient;
 			redissonRx=redissonRxClient;
+			delayedTaskScheduler = new DelayedTaskScheduler(redissonClient, cnaworldRedisProperties != null
+					? cnaworldRedisProperties.getDelayedTask() : new CnaworldRedisProperties.DelayedTask());
+			if (cnaworldRedisProperties != null) {
+				streamProperties = cnaworldRedisProperties.getStream();
+			}
+			streamWorkers = new StreamWorkers(redissonClient, streamProperties);
+			if (cnaworldRedisProperties != null) {
+				singleFlightLoader = new SingleFlightLoader(cnaworldRedisProperties.getLoader());
+				earlyRefreshLoader = new EarlyRefreshLoader(cnaworldRedisProperties.getLoader(), singleFlightLoader);
+				bloomFilters = new BloomFilters(cnaworldRedisProperties.getBloomFilter());
+				cuckooFilterProperties = cnaworldRedisProperties.getCuckooFilter();
+				KeyCodecs codecs = new KeyCodecs(cnaworldRedisProperties.getCodec(), redissonClient);
+				keyCodecs = codecs.isEmpty() ? null : codecs;
+				if (cnaworldRedisProperties.getBatch().isEnabled()) {
+					commandBatcher = new CommandBatcher(redissonClient, cnaworldRedisProperties.getBatch());
+				}
+				if (cnaworldRedisProperties.getHotKey().isEnabled()) {
+					hotKeyDetector = new HotKeyDetector(cnaworldRedisProperties.getHotKey());
+				}
+				if (!cnaworldRedisProperties.getNearCache().getPrefixes().isEmpty()) {
+					NearCache cache = new NearCache(cnaworldRedisProperties.getNearCache());
+					cache.subscribe(redissonClient);
+					nearCache = cache;
+				}
+			}
 			CnaLogUtil.info(log,"CnaRedisUtil initialized");
 		}
     }
 
+	@PreDestroy
+	private void destroy() {
+		StreamWorkers workers = streamWorkers;
+		if (workers != null) {
+			workers.close();
+		}
+		DelayedTaskScheduler scheduler = delayedTaskScheduler;
+		if (scheduler != null) {
+			scheduler.close();
+		}
+		CommandBatcher batcher = commandBatcher;
+		if (batcher != null) {
+			commandBatcher = null;
+			batcher.close();
+		}
+		NearCache cache = nearCache;
+		if (cache != null) {
+			nearCache = null;
+			cache.close();
+		}
+	}
+
+	/**
+	 * 按key前缀配置的编码，null 为redisson默认编码
+	 */
+	private static Codec codec(String key) {
+		KeyCodecs codecs = keyCodecs;
+		return codecs == null ? null : codecs.of(key);
+	}
+
+	private static <V> RBucket<V> bucket(String key) {
+		record(key);
+		Codec codec = codec(key);
+		return codec == null ? redisson().getBucket(key) : redisson().getBucket(key, codec);
+	}
+
+	private static RBuckets buckets(Codec codec) {
+		return codec == null ? redisson().getBuckets() : redisson().getBuckets(codec);
+	}
+
+	/**
+	 * 按编码分组，未配置编码时返回 null
+	 */
+	private static Map<Codec, List<String>> groupByCodec(Iterable<String> keys) {
+		if (keyCodecs == null) {
+			return null;
+		}
+		Map<Codec, List<String>> groups = new HashMap<>();
+		for (String key : keys) {
+			groups.computeIfAbsent(codec(key), codec -> new ArrayList<>()).add(key);
+		}
+		return groups;
+	}
+
+	/**
+	 * 同步等待，与同步方法一致抛出原始异常
+	 */
+	private static <T> T join(CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * 异步修改完成后失效本地缓存
+	 */
+	private static <T> CompletableFuture<T> invalidateOnComplete(String key, RFuture<T> future) {
+		return future.toCompletableFuture().whenComplete((result, e) -> invalidateLocal(key));
+	}
+
+	/**
+	 * 通过本工具修改bucket后失效本地缓存
+	 */
+	private static void invalidateLocal(String key) {
+		NearCache cache = nearCache;
+		if (cache != null) {
+			cache.invalidate(key);
+		}
+		HotKeyDetector detector = hotKeyDetector;
+		if (detector != null) {
+			detector.invalidate(key);
+		}
+	}
+
+	/**
+	 * 开启热点key探测时按采样率记录访问
+	 */
+	private static void record(String key) {
+		HotKeyDetector detector = hotKeyDetector;
+		if (detector != null) {
+			detector.record(key);
+		}
+	}
+
 
 	/**
 	 * CnaRedisUtil 是否可用
@@ -88,8 +241,15 @@ public class CnaRedisUtil{
 	 * @param value V
 	 */
 	public static <V> void set(String key, V value) {
-		RBucket<V> bucket = redisson().getBucket(key);
-		bucket.set(value);
+		CommandBatcher batcher = commandBatcher;
+		if (batcher != null) {
+			record(key);
+			batcher.set(key, codec(key), value);
+		} else {
+			RBucket<V> bucket = bucket(key);
+			bucket.set(value);
+		}
+		invalidateLocal(key);
 	}
 
 	/**
@@ -103,8 +263,15 @@ public class CnaRedisUtil{
 	 * @param timeUnit TimeUnit 时间单位
 	 */
 	public static <V> void set(String key, V value, long time, TimeUnit timeUnit) {
-		RBucket<V> bucket = redisson().getBucket(key);
-		bucket.set(value,time,timeUnit);
+		CommandBatcher batcher = commandBatcher;
+		if (batcher != null) {
+			record(key);
+			batcher.set(key, codec(key), value, time, timeUnit);
+		} else {
+			RBucket<V> bucket = bucket(key);
+			bucket.set(value,time,timeUnit);
+		}
+		invalidateLocal(key);
 	}
 
 	/**
@@ -117,8 +284,12 @@ public class CnaRedisUtil{
 	 * @return V
 	 */
 	public static <V> V getAndSet(String key, V value) {
-		RBucket<V> bucket = redisson().getBucket(key);
-		return bucket.getAndSet(value);
+		RBucket<V> bucket = bucket(key);
+		try {
+			return bucket.getAndSet(value);
+		} finally {
+			invalidateLocal(key);
+		}
 	}
 
 	/**
@@ -134,8 +305,12 @@ public class CnaRedisUtil{
 	 * @return V
 	 */
 	public static <V> V getAndSet(String key, V value, long time, TimeUnit timeUnit) {
-		RBucket<V> bucket = redisson().getBucket(key);
-		return bucket.getAndSet(value,time,timeUnit);
+		RBucket<V> bucket = bucket(key);
+		try {
+			return bucket.getAndSet(value,time,timeUnit);
+		} finally {
+			invalidateLocal(key);
+		}
 	}
 
 	/**
@@ -149,8 +324,12 @@ public class CnaRedisUtil{
 	 * @return boolean
 	 */
 	public static <V> boolean compareAndSet(String key, V oldValue, V value) {
-		RBucket<V> bucket = redisson().getBucket(key);
-		return bucket.compareAndSet(oldValue,value);
+		RBucket<V> bucket = bucket(key);
+		try {
+			return bucket.compareAndSet(oldValue,value);
+		} finally {
+			invalidateLocal(key);
+		}
 	}
 
 	/**
@@ -163,8 +342,12 @@ public class CnaRedisUtil{
 	 * @return boolean
 	 */
 	public static <V> boolean setIfAbsent(String key , V value) {
-		RBucket<V> bucket = redisson().getBucket(key);
-		return bucket.setIfAbsent(value);
+		RBucket<V> bucket = bucket(key);
+		try {
+			return bucket.setIfAbsent(value);
+		} finally {
+			invalidateLocal(key);
+		}
 	}
 
 	/**
@@ -178,8 +361,12 @@ public class CnaRedisUtil{
 	 * @return boolean
 	 */
 	public static <V> boolean setIfAbsent(String key , V value, Duration duration) {
-		RBucket<V> bucket = redisson().getBucket(key);
-		return bucket.setIfAbsent(value,duration);
+		RBucket<V> bucket = bucket(key);
+		try {
+			return bucket.setIfAbsent(value,duration);
+		} finally {
+			invalidateLocal(key);
+		}
 	}
 
 	/**
@@ -192,8 +379,12 @@ public class CnaRedisUtil{
 	 * @return boolean
 	 */
 	public static <V> boolean setIfExists(String key , V value) {
-		RBucket<V> bucket = redisson().getBucket(key);
-		return bucket.setIfExists(value);
+		RBucket<V> bucket = bucket(key);
+		try {
+			return bucket.setIfExists(value);
+		} finally {
+			invalidateLocal(key);
+		}
 	}
 
 	/**
@@ -208,8 +399,12 @@ public class CnaRedisUtil{
 	 * @return boolean
 	 */
 	public static <V> boolean setIfExists(String key ,V value, long time, TimeUnit timeUnit) {
-		RBucket<V> bucket = redisson().getBucket(key);
-		return bucket.setIfExists(value,time,timeUnit);
+		RBucket<V> bucket = bucket(key);
+		try {
+			return bucket.setIfExists(value,time,timeUnit);
+		} finally {
+			invalidateLocal(key);
+		}
 	}
 
 	/**
@@ -220,8 +415,33 @@ public class CnaRedisUtil{
 	 * @param key String
 	 * @return V
 	 */
+	@SuppressWarnings("unchecked")
 	public static <V> V get(String key) {
-		RBucket<V> bucket = redisson().getBucket(key);
+		NearCache cache = nearCache;
+		if (cache != null && cache.matches(key)) {
+			return cache.get(key, () -> fetch(key));
+		}
+		HotKeyDetector detector = hotKeyDetector;
+		if (detector != null && detector.promoteEnabled()) {
+			V value = (V) detector.getPromoted(key);
+			if (value != null) {
+				detector.record(key);
+				return value;
+			}
+			value = fetch(key);
+			detector.promoteIfHot(key, value);
+			return value;
+		}
+		return fetch(key);
+	}
+
+	private static <V> V fetch(String key) {
+		CommandBatcher batcher = commandBatcher;
+		if (batcher != null) {
+			record(key);
+			return batcher.get(key, codec(key));
+		}
+		RBucket<V> bucket = bucket(key);
 		return bucket.get();
 	}
 
@@ -235,7 +455,7 @@ public class CnaRedisUtil{
 	 * @return V
 	 */
 	public static <V> V getAndExpire(String key,Duration duration) {
-		RBucket<V> bucket = redisson().getBucket(key);
+		RBucket<V> bucket = bucket(key);
 		return bucket.getAndExpire(duration);
 	}
 
@@ -249,7 +469,7 @@ public class CnaRedisUtil{
 	 * @return V
 	 */
 	public static <V> V getAndExpire(String key,Instant instant) {
-		RBucket<V> bucket = redisson().getBucket(key);
+		RBucket<V> bucket = bucket(key);
 		return bucket.getAndExpire(instant);
 	}
 
@@ -262,7 +482,7 @@ public class CnaRedisUtil{
 	 * @return V
 	 */
 	public static <V> V getAndClearExpire(String key) {
-		RBucket<V> bucket = redisson().getBucket(key);
+		RBucket<V> bucket = bucket(key);
 		return bucket.getAndClearExpire();
 	}
 
@@ -275,8 +495,48 @@ public class CnaRedisUtil{
 	 * @return V
 	 */
 	public static <V> V getAndDelete(String key) {
-		RBucket<V> bucket = redisson().getBucket(key);
-		return bucket.getAndDelete();
+		RBucket<V> bucket = bucket(key);
+		try {
+			return bucket.getAndDelete();
+		} finally {
+			invalidateLocal(key);
+		}
+	}
+
+	/**
+	 * 获取值，不存在时调用 loader 加载并按 ttl 写入，loader 返回 null 时不写入
+	 * 同一JVM内同一key的并发未命中共享一次加载；跨节点仅一个节点执行加载，其余节点短暂等待加载结果，
+	 * 等待超时返回旧值（需配置 cnaworld.redis.loader.stale-time），无旧值则自行加载
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @param ttl 有效期
+	 * @param loader 加载函数
+	 * @return V
+	 */
+	public static <V> V getOrLoad(String key, Duration ttl, Supplier<V> loader) {
+		Assert.notNull(ttl,"ttl 不能为空");
+		Assert.notNull(loader,"loader 不能为空");
+		return singleFlightLoader.getOrLoad(redisson(), bucket(key), ttl, loader);
+	}
+
+	/**
+	 * 获取值，临近过期时按概率提前在后台刷新，刷新期间继续返回当前值，热点key不会出现过期瞬间的集中未命中
+	 * 值与加载耗时、过期时间一同保存（XFetch），加载越慢、越接近过期，提前刷新的概率越大；
+	 * 未命中时按 getOrLoad 单飞加载，同一key需始终通过本方法读写
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @param ttl 有效期
+	 * @param loader 加载函数
+	 * @return V
+	 */
+	public static <V> V getOrRefresh(String key, Duration ttl, Supplier<V> loader) {
+		Assert.notNull(ttl,"ttl 不能为空");
+		Assert.notNull(loader,"loader 不能为空");
+		return earlyRefreshLoader.getOrRefresh(redisson(), bucket(key), ttl, loader);
 	}
 
 	/**
@@ -287,8 +547,17 @@ public class CnaRedisUtil{
 	 * @param kvMap K-V容器
 	 */
 	public static <V> void sets(Map<String, V> kvMap) {
-		RBuckets buckets = redisson().getBuckets();
-		buckets.set(kvMap);
+		Map<Codec, List<String>> groups = groupByCodec(kvMap.keySet());
+		if (groups == null || groups.size() == 1) {
+			buckets(groups == null ? null : groups.keySet().iterator().next()).set(kvMap);
+		} else {
+			groups.forEach((codec, keys) -> {
+				Map<String, V> group = new LinkedHashMap<>(keys.size() * 2);
+				keys.forEach(key -> group.put(key, kvMap.get(key)));
+				buckets(codec).set(group);
+			});
+		}
+		kvMap.keySet().forEach(CnaRedisUtil::invalidateLocal);
 	}
 
 	/**
@@ -299,8 +568,10 @@ public class CnaRedisUtil{
 	 * @param kvMap K-V容器
 	 */
 	public static <V> void trySets(Map<String, V> kvMap) {
-		RBuckets buckets = redisson().getBuckets();
-		buckets.trySet(kvMap);
+		Map<Codec, List<String>> groups = groupByCodec(kvMap.keySet());
+		Assert.isTrue(groups == null || groups.size() <= 1, "trySets 的key需使用相同编码");
+		buckets(groups == null || groups.isEmpty() ? null : groups.keySet().iterator().next()).trySet(kvMap);
+		kvMap.keySet().forEach(CnaRedisUtil::invalidateLocal);
 	}
 
 	/**
@@ -312,8 +583,13 @@ public class CnaRedisUtil{
 	 * @return Map
 	 */
 	public static <V> Map<String, V> gets(String... keys) {
-		RBuckets buckets = redisson().getBuckets();
-		return buckets.get(keys);
+		Map<Codec, List<String>> groups = groupByCodec(Arrays.asList(keys));
+		if (groups == null || groups.size() <= 1) {
+			return buckets(groups == null || groups.isEmpty() ? null : groups.keySet().iterator().next()).get(keys);
+		}
+		Map<String, V> result = new HashMap<>(keys.length * 2);
+		groups.forEach((codec, group) -> result.putAll(buckets(codec).get(group.toArray(new String[0]))));
+		return result;
 	}
 
 	/**
@@ -325,8 +601,363 @@ public class CnaRedisUtil{
 	 * @return boolean
 	 */
 	public static <V> boolean delete(String key) {
-		RBucket<V> bucket = redisson().getBucket(key);
-		return bucket.delete();
+		CommandBatcher batcher = commandBatcher;
+		try {
+			if (batcher != null) {
+				record(key);
+				return batcher.delete(key, codec(key));
+			}
+			RBucket<V> bucket = bucket(key);
+			return bucket.delete();
+		} finally {
+			invalidateLocal(key);
+		}
+	}
+
+	/**
+	 * 异步设置值
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @param value V
+	 * @return CompletableFuture
+	 */
+	public static <V> CompletableFuture<Void> setAsync(String key, V value) {
+		RBucket<V> bucket = bucket(key);
+		return invalidateOnComplete(key, bucket.setAsync(value));
+	}
+
+	/**
+	 * 异步设置值及过期时间
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @param value V
+	 * @param time long 过期时间
+	 * @param timeUnit TimeUnit 时间单位
+	 * @return CompletableFuture
+	 */
+	public static <V> CompletableFuture<Void> setAsync(String key, V value, long time, TimeUnit timeUnit) {
+		RBucket<V> bucket = bucket(key);
+		return invalidateOnComplete(key, bucket.setAsync(value,time,timeUnit));
+	}
+
+	/**
+	 * 异步获取值，开启本地缓存的key命中时直接返回
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @return CompletableFuture
+	 */
+	public static <V> CompletableFuture<V> getAsync(String key) {
+		NearCache cache = nearCache;
+		if (cache != null && cache.matches(key)) {
+			return cache.getAsync(key, () -> CnaRedisUtil.<V>bucket(key).getAsync().toCompletableFuture());
+		}
+		RBucket<V> bucket = bucket(key);
+		return bucket.getAsync().toCompletableFuture();
+	}
+
+	/**
+	 * 异步设置新值并且返回旧值
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @param value V
+	 * @return CompletableFuture
+	 */
+	public static <V> CompletableFuture<V> getAndSetAsync(String key, V value) {
+		RBucket<V> bucket = bucket(key);
+		return invalidateOnComplete(key, bucket.getAndSetAsync(value));
+	}
+
+	/**
+	 * 异步设置新值及过期时间并且返回旧值
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @param value V
+	 * @param time long 过期时间
+	 * @param timeUnit TimeUnit 时间单位
+	 * @return CompletableFuture
+	 */
+	public static <V> CompletableFuture<V> getAndSetAsync(String key, V value, long time, TimeUnit timeUnit) {
+		RBucket<V> bucket = bucket(key);
+		return invalidateOnComplete(key, bucket.getAndSetAsync(value,time,timeUnit));
+	}
+
+	/**
+	 * 异步与旧值比较之后设置新值
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @param oldValue V
+	 * @param value V
+	 * @return CompletableFuture
+	 */
+	public static <V> CompletableFuture<Boolean> compareAndSetAsync(String key, V oldValue, V value) {
+		RBucket<V> bucket = bucket(key);
+		return invalidateOnComplete(key, bucket.compareAndSetAsync(oldValue,value));
+	}
+
+	/**
+	 * 异步设置值，当且仅当 key 不存在
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @param value V
+	 * @return CompletableFuture
+	 */
+	public static <V> CompletableFuture<Boolean> setIfAbsentAsync(String key, V value) {
+		RBucket<V> bucket = bucket(key);
+		return invalidateOnComplete(key, bucket.setIfAbsentAsync(value));
+	}
+
+	/**
+	 * 异步设置值及有效期，当且仅当 key 不存在
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @param value V
+	 * @param duration 有效期工具
+	 * @return CompletableFuture
+	 */
+	public static <V> CompletableFuture<Boolean> setIfAbsentAsync(String key, V value, Duration duration) {
+		RBucket<V> bucket = bucket(key);
+		return invalidateOnComplete(key, bucket.setIfAbsentAsync(value,duration));
+	}
+
+	/**
+	 * 异步设置值，当且仅当 key 存在
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @param value V
+	 * @return CompletableFuture
+	 */
+	public static <V> CompletableFuture<Boolean> setIfExistsAsync(String key, V value) {
+		RBucket<V> bucket = bucket(key);
+		return invalidateOnComplete(key, bucket.setIfExistsAsync(value));
+	}
+
+	/**
+	 * 异步设置值及过期时间，当且仅当 key 存在
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @param value V
+	 * @param time long 过期时间
+	 * @param timeUnit TimeUnit 时间单位
+	 * @return CompletableFuture
+	 */
+	public static <V> CompletableFuture<Boolean> setIfExistsAsync(String key, V value, long time, TimeUnit timeUnit) {
+		RBucket<V> bucket = bucket(key);
+		return invalidateOnComplete(key, bucket.setIfExistsAsync(value,time,timeUnit));
+	}
+
+	/**
+	 * 异步获取值并设置到期时间
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @param duration 有效期工具
+	 * @return CompletableFuture
+	 */
+	public static <V> CompletableFuture<V> getAndExpireAsync(String key, Duration duration) {
+		RBucket<V> bucket = bucket(key);
+		return bucket.getAndExpireAsync(duration).toCompletableFuture();
+	}
+
+	/**
+	 * 异步获取值并设置到期时间
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @param instant 有效期工具
+	 * @return CompletableFuture
+	 */
+	public static <V> CompletableFuture<V> getAndExpireAsync(String key, Instant instant) {
+		RBucket<V> bucket = bucket(key);
+		return bucket.getAndExpireAsync(instant).toCompletableFuture();
+	}
+
+	/**
+	 * 异步获取值并清理到期时间
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @return CompletableFuture
+	 */
+	public static <V> CompletableFuture<V> getAndClearExpireAsync(String key) {
+		RBucket<V> bucket = bucket(key);
+		return bucket.getAndClearExpireAsync().toCompletableFuture();
+	}
+
+	/**
+	 * 异步获取值并删除KEY
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @return CompletableFuture
+	 */
+	public static <V> CompletableFuture<V> getAndDeleteAsync(String key) {
+		RBucket<V> bucket = bucket(key);
+		return invalidateOnComplete(key, bucket.getAndDeleteAsync());
+	}
+
+	/**
+	 * 异步批量设置值
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param kvMap K-V容器
+	 * @return CompletableFuture
+	 */
+	public static <V> CompletableFuture<Void> setsAsync(Map<String, V> kvMap) {
+		Map<Codec, List<String>> groups = groupByCodec(kvMap.keySet());
+		CompletableFuture<Void> future;
+		if (groups == null || groups.size() == 1) {
+			future = buckets(groups == null ? null : groups.keySet().iterator().next()).setAsync(kvMap).toCompletableFuture();
+		} else {
+			List<CompletableFuture<Void>> futures = new ArrayList<>(groups.size());
+			groups.forEach((codec, keys) -> {
+				Map<String, V> group = new LinkedHashMap<>(keys.size() * 2);
+				keys.forEach(key -> group.put(key, kvMap.get(key)));
+				futures.add(buckets(codec).setAsync(group).toCompletableFuture());
+			});
+			future = CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+		}
+		return future.whenComplete((result, e) -> kvMap.keySet().forEach(CnaRedisUtil::invalidateLocal));
+	}
+
+	/**
+	 * 异步同时保存所有的容器中的键值，如果任意一个已经存在则放弃保存其他所有数据
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param kvMap K-V容器
+	 * @return CompletableFuture 是否保存成功
+	 */
+	public static <V> CompletableFuture<Boolean> trySetsAsync(Map<String, V> kvMap) {
+		Map<Codec, List<String>> groups = groupByCodec(kvMap.keySet());
+		Assert.isTrue(groups == null || groups.size() <= 1, "trySets 的key需使用相同编码");
+		RBuckets buckets = buckets(groups == null || groups.isEmpty() ? null : groups.keySet().iterator().next());
+		return buckets.trySetAsync(kvMap).toCompletableFuture()
+				.whenComplete((result, e) -> kvMap.keySet().forEach(CnaRedisUtil::invalidateLocal));
+	}
+
+	/**
+	 * 异步批量获取值
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param keys String
+	 * @return CompletableFuture
+	 */
+	public static <V> CompletableFuture<Map<String, V>> getsAsync(String... keys) {
+		Map<Codec, List<String>> groups = groupByCodec(Arrays.asList(keys));
+		if (groups == null || groups.size() <= 1) {
+			RBuckets buckets = buckets(groups == null || groups.isEmpty() ? null : groups.keySet().iterator().next());
+			return buckets.<V>getAsync(keys).toCompletableFuture();
+		}
+		List<CompletableFuture<Map<String, V>>> futures = new ArrayList<>(groups.size());
+		groups.forEach((codec, group) -> futures.add(buckets(codec).<V>getAsync(group.toArray(new String[0])).toCompletableFuture()));
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+			Map<String, V> result = new HashMap<>(keys.length * 2);
+			futures.forEach(future -> result.putAll(future.join()));
+			return result;
+		});
+	}
+
+	/**
+	 * 异步移除Key
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @return CompletableFuture
+	 */
+	public static <V> CompletableFuture<Boolean> deleteAsync(String key) {
+		RBucket<V> bucket = bucket(key);
+		return invalidateOnComplete(key, bucket.deleteAsync());
+	}
+
+	/**
+	 * 计算key所在的集群slot，存在非空 {hashTag} 时只对hashTag计算
+	 * 需要批量读写的一组key可通过相同的 {hashTag} 放置到同一slot
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @return int
+	 */
+	public static int keySlot(String key) {
+		return SlotBulk.slot(key);
+	}
+
+	/**
+	 * 按slot分组批量获取值
+	 * 集群模式下同一slot的key合并为一次 MGET，其余key按节点组成管道并行执行；非集群模式按分块 MGET 并行执行
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param keys key集合
+	 * @return Map 不包含值不存在的key
+	 */
+	public static <V> Map<String, V> getsBySlot(Collection<String> keys) {
+		return join(CnaRedisUtil.<V>getsBySlotAsync(keys));
+	}
+
+	/**
+	 * 按slot分组异步批量获取值
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param keys key集合
+	 * @return CompletableFuture 不包含值不存在的key
+	 */
+	public static <V> CompletableFuture<Map<String, V>> getsBySlotAsync(Collection<String> keys) {
+		return SlotBulk.gets(redisson(), keys, CnaRedisUtil::codec);
+	}
+
+	/**
+	 * 按slot分组批量设置值
+	 * 集群模式下同一slot的key合并为一次 MSET，其余key按节点组成管道并行执行；非集群模式按分块 MSET 并行执行
+	 * 不同slot之间不保证原子性
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param kvMap K-V容器
+	 */
+	public static <V> void setsBySlot(Map<String, V> kvMap) {
+		join(setsBySlotAsync(kvMap));
+	}
+
+	/**
+	 * 按slot分组异步批量设置值
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param kvMap K-V容器
+	 * @return CompletableFuture
+	 */
+	public static <V> CompletableFuture<Void> setsBySlotAsync(Map<String, V> kvMap) {
+		return SlotBulk.sets(redisson(), kvMap, CnaRedisUtil::codec)
+				.whenComplete((result, e) -> kvMap.keySet().forEach(CnaRedisUtil::invalidateLocal));
 	}
 
 	/**
@@ -453,7 +1084,8 @@ public class CnaRedisUtil{
 	 * @return RMapCache
 	 */
 	public static <K, V> RMapCache<K, V> getMapCache(String key) {
-		return redisson().getMapCache(key);
+		Codec codec = codec(key);
+		return codec == null ? redisson().getMapCache(key) : redisson().getMapCache(key, codec);
 	}
 
 	/**
@@ -502,7 +1134,8 @@ public class CnaRedisUtil{
 	 * @return RLocalCachedMap
 	 */
 	public static <K, V> RLocalCachedMap<K, V> getLocalCachedMap(String key,LocalCachedMapOptions<K, V> localCachedMapOptions) {
-		return redisson().getLocalCachedMap(key,localCachedMapOptions);
+		Codec codec = codec(key);
+		return codec == null ? redisson().getLocalCachedMap(key,localCachedMapOptions) : redisson().getLocalCachedMap(key,codec,localCachedMapOptions);
 	}
 
 	/**
@@ -516,7 +1149,8 @@ public class CnaRedisUtil{
 	 * @return RMap
 	 */
 	public static <K, V> RMap<K, V> getMap(String key) {
-		return redisson().getMap(key);
+		Codec codec = codec(key);
+		return codec == null ? redisson().getMap(key) : redisson().getMap(key, codec);
 	}
 
 
@@ -688,7 +1322,7 @@ public class CnaRedisUtil{
 	 * 分布式延迟队列 Delayed Queue
 	 * 队列按要求延迟添加项目的功能。该功能可以用来实现消息传送延迟按几何增长或几何衰减的发送策略。
 	 * 延迟以后将消息发送到指定队列
-	 * 在该对象不再需要的情况下，应该主动销毁
+	 * 在该对象不再需要的情况下，应该主动销毁；需要由本工具管理消费线程时使用 scheduleDelayed 及 registerDelayedHandler
 	 * @author Lucifer
 	 * @date 2023/2/10
 	 * @since 1.0
@@ -699,6 +1333,151 @@ public class CnaRedisUtil{
 		return redisson().getDelayedQueue(rQueue);
 	}
 
+	private static DelayedTaskScheduler delayedTaskScheduler() {
+		Assert.notNull(delayedTaskScheduler, "redisson 加载失败");
+		return delayedTaskScheduler;
+	}
+
+	/**
+	 * 添加延迟任务
+	 * 到期后由注册了该队列处理器的任一节点执行，至少执行一次
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param queue 队列名称，不能包含 { }
+	 * @param payload V 任务内容
+	 * @param delay long 延迟时间
+	 * @param timeUnit TimeUnit 时间单位
+	 * @return String 任务id
+	 */
+	public static <V> String scheduleDelayed(String queue, V payload, long delay, TimeUnit timeUnit) {
+		return delayedTaskScheduler().schedule(queue, payload, timeUnit.toMillis(delay));
+	}
+
+	/**
+	 * 取消延迟任务
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param queue 队列名称
+	 * @param id 任务id
+	 * @return boolean 任务存在且已取消
+	 */
+	public static boolean cancelDelayed(String queue, String id) {
+		return delayedTaskScheduler().cancel(queue, id);
+	}
+
+	/**
+	 * 注册延迟任务处理器
+	 * 所有队列共用一个调度线程及 cnaworld.redis.delayed-task.workers 个工作线程，每个队列只能注册一个处理器
+	 * 处理器正常返回后确认任务，抛出异常时按 retry-delay 重试，执行超过 visibility-timeout 未确认的任务将重新投递
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param queue 队列名称，不能包含 { }
+	 * @param handler DelayedTaskHandler
+	 */
+	public static <V> void registerDelayedHandler(String queue, DelayedTaskHandler<V> handler) {
+		delayedTaskScheduler().register(queue, handler);
+	}
+
+	/**
+	 * 注销延迟任务处理器，已领取的任务继续执行
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param queue 队列名称
+	 */
+	public static void unregisterDelayedHandler(String queue) {
+		delayedTaskScheduler().unregister(queue);
+	}
+
+	/**
+	 * 流 Stream
+	 * 消息持久保存，消费组内的消息在确认前保留在待处理列表中，消费者宕机不丢失；需要由本工具管理消费线程时使用 registerStreamHandler
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @return RStream
+	 */
+	public static <K, V> RStream<K, V> getStream(String key) {
+		return redisson().getStream(key);
+	}
+
+	private static StreamWorkers streamWorkers() {
+		Assert.notNull(streamWorkers, "redisson 加载失败");
+		return streamWorkers;
+	}
+
+	/**
+	 * 向流中添加消息，按 cnaworld.redis.stream.max-len 近似裁剪
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @param entries Map 消息内容
+	 * @return StreamMessageId 消息id
+	 */
+	public static <K, V> StreamMessageId streamAdd(String key, Map<K, V> entries) {
+		return streamAdd(key, entries, streamProperties.getMaxLen());
+	}
+
+	/**
+	 * 向流中添加消息
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @param entries Map 消息内容
+	 * @param maxLen int 近似裁剪长度 MAXLEN ~ ，0 不裁剪
+	 * @return StreamMessageId 消息id
+	 */
+	public static <K, V> StreamMessageId streamAdd(String key, Map<K, V> entries, int maxLen) {
+		return streamWorkers().add(key, entries, maxLen);
+	}
+
+	/**
+	 * 向流中批量添加消息，管道发送，按 cnaworld.redis.stream.max-len 近似裁剪
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @param entries List 消息内容
+	 * @return List 与 entries 顺序一致的消息id
+	 */
+	public static <K, V> List<StreamMessageId> streamAddAll(String key, List<? extends Map<K, V>> entries) {
+		return streamWorkers().addAll(key, entries, streamProperties.getMaxLen());
+	}
+
+	/**
+	 * 注册流消费组处理器
+	 * 消费组不存在时创建（从流的第一条消息开始消费），启动 cnaworld.redis.stream.consumers 个消费者批量读取并批量确认，
+	 * 处理失败或消费者宕机遗留的消息空闲超过 claim-idle 后由组内消费者重新认领，至少处理一次，
+	 * 投递次数超过 max-deliveries 的消息移入死信流 key:group:dead
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String 流名称
+	 * @param group String 消费组名称，不同消费组各自消费全部消息，同一消费组内的消费者分摊消息
+	 * @param handler StreamHandler
+	 */
+	public static <K, V> void registerStreamHandler(String key, String group, StreamHandler<K, V> handler) {
+		streamWorkers().register(key, group, handler);
+	}
+
+	/**
+	 * 注销流消费组处理器，等待已读取的消息处理完成
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String 流名称
+	 * @param group String 消费组名称
+	 */
+	public static void unregisterStreamHandler(String key, String group) {
+		streamWorkers().unregister(key, group);
+	}
+
 	/**
 	 * 优先队列 Priority Queue
 	 * 可以通过比较器（Comparator）接口来对元素排序
@@ -784,6 +1563,37 @@ public class CnaRedisUtil{
 		return redisson().getFairLock(key);
 	}
 
+	/**
+	 * 自旋锁 Spin Lock
+	 * 不使用 pub/sub 订阅解锁通知，以指数退避重试加锁，
+	 * 避免大量订阅及主从切换后订阅恢复慢导致的唤醒延迟，适用于持有时间很短的临界区
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @return RLock
+	 */
+	public static RLock getSpinLock(String key) {
+		return redisson().getSpinLock(key);
+	}
+
+	/**
+	 * 防护令牌锁 Fenced Lock
+	 * 可重入锁，加锁的同一个 Lua 脚本中分配单调递增的防护令牌，加锁成功后通过 getToken() 获取，
+	 * 写入下游存储时携带令牌，由下游拒绝令牌更小的写入，避免锁过期后的过期写入
+	 * 令牌计数器存储于 {key}:fencing ，不设置过期时间，保证令牌在锁key过期后依然单调递增
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @return FencedLock
+	 */
+	public static FencedLock getFencedLock(String key) {
+		RedissonClient client = redisson();
+		Assert.isInstanceOf(Redisson.class, client, "FencedLock 需要 Redisson 实例");
+		return new FencedLock(((Redisson) client).getCommandExecutor(), key);
+	}
+
 	/**
 	 * 联锁 MultiLock
 	 * 以将多个RLock对象关联为一个联锁
@@ -828,6 +1638,19 @@ public class CnaRedisUtil{
 		return redisson().getReadWriteLock(key);
 	}
 
+	/**
+	 * 可重入读写锁 RReadWriteLock
+	 * 与 getReadWriteLock 相同，读锁及写锁可直接使用 RLock 的租期、异步等方法
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @return RReadWriteLock
+	 */
+	public static RReadWriteLock getRReadWriteLock(String key) {
+		return redisson().getReadWriteLock(key);
+	}
+
 	/**
 	 * 信号量 Semaphore
 	 * 但是如果遇到需要其他进程也能解锁的情况,可使用信号量
@@ -927,6 +1750,7 @@ public class CnaRedisUtil{
 
 	/**
 	 * 布隆过滤器
+	 * 每个key只在首次获取或容量参数变化时初始化，之后返回缓存的实例；过滤器被删除、过期或重建后，实例在下次调用时按原容量重新初始化
 	 * @author Lucifer
 	 * @date 2023/2/10
 	 * @since 1.0
@@ -934,14 +1758,13 @@ public class CnaRedisUtil{
 	 * @return RBloomFilter
 	 */
 	public static <V> RBloomFilter<V> getBloomFilter(String key) {
-		RBloomFilter<V> bloomFilter = redisson().getBloomFilter(key);
-		// 初始化布隆过滤器，预计统计元素数量为55000000，期望误差率为0.03
-		bloomFilter.tryInit(55000000L, 0.03);
-		return bloomFilter;
+		// 首次获取时按 cnaworld.redis.bloom-filter 初始化，默认预计元素数量为55000000，期望误差率为0.03
+		return bloomFilters.get(redisson(), key);
 	}
 
 	/**
 	 * 布隆过滤器
+	 * 每个key只在首次获取或容量参数变化时初始化，之后返回缓存的实例；过滤器被删除、过期或重建后，实例在下次调用时按原容量重新初始化
 	 * @author Lucifer
 	 * @date 2023/2/10
 	 * @since 1.0
@@ -949,9 +1772,68 @@ public class CnaRedisUtil{
 	 * @return RBloomFilter
 	 */
 	public static <V> RBloomFilter<V> getBloomFilter(String key,long expectedInsertions, double falseProbability) {
-		RBloomFilter<V> bloomFilter = redisson().getBloomFilter(key);
-		bloomFilter.tryInit(expectedInsertions, falseProbability);
-		return bloomFilter;
+		return bloomFilters.get(redisson(), key, expectedInsertions, falseProbability);
+	}
+
+	/**
+	 * 布隆过滤器批量添加
+	 * 全部元素的位操作通过一个管道发送，过滤器不存在时按 cnaworld.redis.bloom-filter 初始化
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @param values Collection
+	 * @return List<Boolean> 与 values 顺序一致，true 为此前不存在
+	 */
+	public static <V> List<Boolean> bloomFilterAddAll(String key, Collection<V> values) {
+		return bloomFilters.addAll(redisson(), key, values);
+	}
+
+	/**
+	 * 布隆过滤器批量判断
+	 * 全部元素的位读取通过一个管道发送，过滤器不存在时按 cnaworld.redis.bloom-filter 初始化
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String
+	 * @param values Collection
+	 * @return List<Boolean> 与 values 顺序一致，true 为可能存在
+	 */
+	public static <V> List<Boolean> bloomFilterContainsAll(String key, Collection<V> values) {
+		return bloomFilters.containsAll(redisson(), key, values);
+	}
+
+	/**
+	 * 布谷鸟过滤器
+	 * 支持删除及自动扩容，按 cnaworld.redis.cuckoo-filter 分片到不同slot，单个元素的操作为一次 Lua 调用
+	 * 每个key只在首次获取时读取或写入分片配置，之后返回缓存的实例
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String 不能包含 { }
+	 * @return CuckooFilter
+	 */
+	public static <V> CuckooFilter<V> getCuckooFilter(String key) {
+		CnaworldRedisProperties.CuckooFilter properties = cuckooFilterProperties;
+		return getCuckooFilter(key, properties.getShards(), properties.getInitialBuckets());
+	}
+
+	/**
+	 * 布谷鸟过滤器
+	 * 分片数及初始桶数只在过滤器首次创建时生效
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param key String 不能包含 { }
+	 * @param shards 分片数
+	 * @param initialBuckets 每个分片首层桶数，必须为2的幂
+	 * @return CuckooFilter
+	 */
+	@SuppressWarnings("unchecked")
+	public static <V> CuckooFilter<V> getCuckooFilter(String key, int shards, long initialBuckets) {
+		RedissonClient client = redisson();
+		return (CuckooFilter<V>) cuckooFilters.computeIfAbsent(key,
+				name -> new CuckooFilter<>(client, name, shards, initialBuckets, cuckooFilterProperties.getMaxKicks()));
 	}
 
 	/**
@@ -965,4 +1847,101 @@ public class CnaRedisUtil{
 		return redisson().getKeys();
 	}
 
+	/**
+	 * 按节点并行扫描匹配的key
+	 * 各主节点独立执行 SCAN 并同时预取下一页，每个节点最多缓存一页，消费速度决定扫描速度，不会阻塞redis
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param pattern 匹配规则，如 order:*
+	 * @param count 每次 SCAN 的 COUNT 参数
+	 * @return KeyScanIterator 可通过 getCursor 获取可恢复的游标
+	 */
+	public static KeyScanIterator scan(String pattern, int count) {
+		return scan(pattern, count, null);
+	}
+
+	/**
+	 * 从游标处继续按节点并行扫描匹配的key
+	 * 从游标恢复时可能重复返回少量已返回的key
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param pattern 匹配规则，需与生成游标时一致
+	 * @param count 每次 SCAN 的 COUNT 参数
+	 * @param cursor KeyScanIterator.getCursor 返回的游标，null 从头开始
+	 * @return KeyScanIterator
+	 */
+	public static KeyScanIterator scan(String pattern, int count, String cursor) {
+		return KeyScanner.iterator(redisson(), pattern, count, cursor);
+	}
+
+	/**
+	 * 按节点并行扫描匹配的key，按下游需求逐页请求
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param pattern 匹配规则，如 order:*
+	 * @param count 每次 SCAN 的 COUNT 参数
+	 * @return Flux
+	 */
+	public static Flux<String> scanFlux(String pattern, int count) {
+		return scanFlux(pattern, count, null);
+	}
+
+	/**
+	 * 从游标处继续按节点并行扫描匹配的key，按下游需求逐页请求
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param pattern 匹配规则，需与生成游标时一致
+	 * @param count 每次 SCAN 的 COUNT 参数
+	 * @param cursor KeyScanIterator.getCursor 返回的游标，null 从头开始
+	 * @return Flux
+	 */
+	public static Flux<String> scanFlux(String pattern, int count, String cursor) {
+		return Flux.defer(() -> KeyScanner.flux(redisson(), pattern, count, cursor));
+	}
+
+	/**
+	 * 按匹配规则限速批量删除key
+	 * 按节点并行 SCAN ，每 chunkSize 个key发送一次 UNLINK（集群模式按slot拆分后管道发送），redis异步释放内存
+	 * 与 getKeys().deleteByPattern 相比不会一次性加载全部key，并可限制每秒删除数量
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @param pattern 匹配规则，如 order:*
+	 * @param chunkSize 每次 UNLINK 的key数量，同时作为 SCAN 的 COUNT 参数
+	 * @param maxKeysPerSecond 每秒最多删除的key数量，0 不限制
+	 * @return long 删除的key数量
+	 */
+	public static long unlinkByPattern(String pattern, int chunkSize, int maxKeysPerSecond) {
+		try {
+			return KeyScanner.unlinkByPattern(redisson(), pattern, chunkSize, chunkSize, maxKeysPerSecond);
+		} finally {
+			NearCache cache = nearCache;
+			if (cache != null) {
+				cache.invalidateAll();
+			}
+			HotKeyDetector detector = hotKeyDetector;
+			if (detector != null) {
+				detector.invalidateAll();
+			}
+		}
+	}
+
+	/**
+	 * 当前热点key，按每秒访问次数降序
+	 * 需开启 cnaworld.redis.hot-key.enabled ，统计 CnaRedisUtil bucket单key读写的采样访问，
+	 * 次数及频率为按采样率折算的估计值；未开启时返回空列表
+	 * @author Lucifer
+	 * @date 2026/10/18
+	 * @since 1.1.5
+	 * @return List<HotKey>
+	 */
+	public static List<HotKey> hotKeys() {
+		HotKeyDetector detector = hotKeyDetector;
+		return detector == null ? new ArrayList<>() : detector.hotKeys();
+	}
+
 }
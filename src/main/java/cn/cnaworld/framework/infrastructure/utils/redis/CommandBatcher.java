@@ -0,0 +1,174 @@
+package cn.cnaworld.framework.infrastructure.utils.redis;
+
+import cn.cnaworld.framework.infrastructure.properties.CnaworldRedisProperties;
+import cn.cnaworld.framework.infrastructure.utils.log.CnaLogUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBucketAsync;
+import org.redisson.api.RFuture;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 单key命令自动合并
+ * 不同线程在合并窗口内提交的单key命令由后台线程合并为一个 RBatch 管道发送，结果分别返回给各调用方；
+ * 窗口从批次的第一个命令开始计时，达到最大命令数时立即发送
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@Slf4j
+final class CommandBatcher {
+
+    private final RedissonClient redisson;
+
+    private final long windowNanos;
+
+    private final int maxOps;
+
+    private final BlockingQueue<Command> queue = new LinkedBlockingQueue<>();
+
+    private final Thread flusher;
+
+    private volatile boolean running = true;
+
+    CommandBatcher(RedissonClient redisson, CnaworldRedisProperties.Batch properties) {
+        this.redisson = redisson;
+        this.windowNanos = properties.getWindow().toNanos();
+        this.maxOps = Math.max(1, properties.getMaxOps());
+        this.flusher = new Thread(this::run, "cnaworld-redis-batcher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    <V> V get(String key, Codec codec) {
+        return submit(batch -> bucket(batch, key, codec).getAsync());
+    }
+
+    <V> void set(String key, Codec codec, V value) {
+        submit(batch -> bucket(batch, key, codec).setAsync(value));
+    }
+
+    <V> void set(String key, Codec codec, V value, long time, TimeUnit timeUnit) {
+        submit(batch -> bucket(batch, key, codec).setAsync(value, time, timeUnit));
+    }
+
+    boolean delete(String key, Codec codec) {
+        return submit(batch -> bucket(batch, key, codec).deleteAsync());
+    }
+
+    void close() {
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushRemaining();
+    }
+
+    private static <V> RBucketAsync<V> bucket(RBatch batch, String key, Codec codec) {
+        return codec == null ? batch.getBucket(key) : batch.getBucket(key, codec);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T submit(Function<RBatch, RFuture<?>> operation) {
+        Command command = new Command(operation);
+        queue.add(command);
+        //关闭后提交的命令由调用线程自行发送
+        if (!running) {
+            flushRemaining();
+        }
+        try {
+            return (T) command.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void run() {
+        List<Command> commands = new ArrayList<>(maxOps);
+        while (running) {
+            try {
+                commands.add(queue.take());
+                long deadline = System.nanoTime() + windowNanos;
+                while (commands.size() < maxOps) {
+                    queue.drainTo(commands, maxOps - commands.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (commands.size() >= maxOps || remaining <= 0) {
+                        break;
+                    }
+                    Command next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    commands.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            execute(commands);
+            commands = new ArrayList<>(maxOps);
+        }
+    }
+
+    private void flushRemaining() {
+        List<Command> commands = new ArrayList<>();
+        while (queue.drainTo(commands, maxOps) > 0) {
+            execute(commands);
+            commands = new ArrayList<>();
+        }
+    }
+
+    private void execute(List<Command> commands) {
+        if (commands.isEmpty()) {
+            return;
+        }
+        try {
+            RBatch batch = redisson.createBatch(BatchOptions.defaults());
+            for (Command command : commands) {
+                command.operation.apply(batch).whenComplete((value, e) -> {
+                    if (e != null) {
+                        command.result.completeExceptionally(e);
+                    } else {
+                        command.result.complete(value);
+                    }
+                });
+            }
+            batch.executeAsync().whenComplete((result, e) -> {
+                if (e != null) {
+                    commands.forEach(command -> command.result.completeExceptionally(e));
+                }
+            });
+        } catch (RuntimeException e) {
+            CnaLogUtil.warn(log, "合并命令发送失败 , 命令数 ：{}", commands.size(), e);
+            commands.forEach(command -> command.result.completeExceptionally(e));
+        }
+    }
+
+    private static final class Command {
+
+        private final Function<RBatch, RFuture<?>> operation;
+
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Command(Function<RBatch, RFuture<?>> operation) {
+            this.operation = operation;
+        }
+    }
+
+}
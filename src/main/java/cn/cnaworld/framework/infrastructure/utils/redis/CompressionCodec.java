@@ -0,0 +1,181 @@
+package cn.cnaworld.framework.infrastructure.utils.redis;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import org.redisson.client.codec.BaseCodec;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.protocol.Decoder;
+import org.redisson.client.protocol.Encoder;
+
+import java.io.IOException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 按大小压缩的编码包装
+ * 值及map值经内部编码后达到阈值时以gzip压缩保存，未达到阈值或压缩后未变小时原样保存；map键不压缩
+ * 每个值以2字节头开始：标记字节 0xF5（UTF-8中不会出现）及格式字节（0 原样，1 gzip），解码时按格式字节还原
+ * 不以标记字节开始的值视为开启压缩前写入的未压缩数据，直接使用内部编码解码
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+public class CompressionCodec extends BaseCodec {
+
+    private static final int MARKER = 0xF5;
+
+    private static final int FORMAT_RAW = 0;
+
+    private static final int FORMAT_GZIP = 1;
+
+    private static final int HEADER_LENGTH = 2;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Codec innerCodec;
+
+    private final int threshold;
+
+    private final Encoder valueEncoder;
+
+    private final Decoder<Object> valueDecoder;
+
+    private final Encoder mapValueEncoder;
+
+    private final Decoder<Object> mapValueDecoder;
+
+    /**
+     * @param innerCodec 内部编码
+     * @param threshold 压缩阈值字节数
+     */
+    public CompressionCodec(Codec innerCodec, int threshold) {
+        this.innerCodec = innerCodec;
+        this.threshold = threshold;
+        this.valueEncoder = compress(innerCodec.getValueEncoder());
+        this.valueDecoder = decompress(innerCodec.getValueDecoder());
+        this.mapValueEncoder = compress(innerCodec.getMapValueEncoder());
+        this.mapValueDecoder = decompress(innerCodec.getMapValueDecoder());
+    }
+
+    /**
+     * redisson 按 classLoader 复制编码时使用
+     */
+    public CompressionCodec(ClassLoader classLoader, CompressionCodec codec) throws ReflectiveOperationException {
+        this(copy(classLoader, codec.innerCodec), codec.threshold);
+    }
+
+    public Codec getInnerCodec() {
+        return innerCodec;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    @Override
+    public Decoder<Object> getValueDecoder() {
+        return valueDecoder;
+    }
+
+    @Override
+    public Encoder getValueEncoder() {
+        return valueEncoder;
+    }
+
+    @Override
+    public Decoder<Object> getMapValueDecoder() {
+        return mapValueDecoder;
+    }
+
+    @Override
+    public Encoder getMapValueEncoder() {
+        return mapValueEncoder;
+    }
+
+    @Override
+    public Decoder<Object> getMapKeyDecoder() {
+        return innerCodec.getMapKeyDecoder();
+    }
+
+    @Override
+    public Encoder getMapKeyEncoder() {
+        return innerCodec.getMapKeyEncoder();
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return innerCodec.getClassLoader();
+    }
+
+    private Encoder compress(Encoder encoder) {
+        return in -> {
+            ByteBuf raw = encoder.encode(in);
+            int length = raw.readableBytes();
+            if (length < threshold) {
+                return withRawHeader(raw);
+            }
+            ByteBuf out = ByteBufAllocator.DEFAULT.buffer(length / 2 + 32);
+            out.writeByte(MARKER).writeByte(FORMAT_GZIP);
+            try {
+                try (GZIPOutputStream gzip = new GZIPOutputStream(new ByteBufOutputStream(out), BUFFER_SIZE) {
+                    {
+                        def.setLevel(Deflater.BEST_SPEED);
+                    }
+                }) {
+                    raw.getBytes(raw.readerIndex(), gzip, length);
+                }
+            } catch (IOException | RuntimeException e) {
+                out.release();
+                raw.release();
+                throw e;
+            }
+            //压缩收益不足时保留原始数据
+            if (out.readableBytes() - HEADER_LENGTH >= length) {
+                out.release();
+                return withRawHeader(raw);
+            }
+            raw.release();
+            return out;
+        };
+    }
+
+    /**
+     * 未压缩的值前拼接2字节头，不复制原始数据
+     */
+    private static ByteBuf withRawHeader(ByteBuf raw) {
+        ByteBuf header = ByteBufAllocator.DEFAULT.buffer(HEADER_LENGTH).writeByte(MARKER).writeByte(FORMAT_RAW);
+        return ByteBufAllocator.DEFAULT.compositeBuffer(2).addComponents(true, header, raw);
+    }
+
+    private static Decoder<Object> decompress(Decoder<Object> decoder) {
+        return (buf, state) -> {
+            int index = buf.readerIndex();
+            if (buf.readableBytes() < HEADER_LENGTH || buf.getUnsignedByte(index) != MARKER) {
+                return decoder.decode(buf, state);
+            }
+            int format = buf.getUnsignedByte(index + 1);
+            buf.skipBytes(HEADER_LENGTH);
+            if (format == FORMAT_RAW) {
+                return decoder.decode(buf, state);
+            }
+            if (format != FORMAT_GZIP) {
+                throw new IOException("未知的压缩格式 : " + format);
+            }
+            ByteBuf out = ByteBufAllocator.DEFAULT.buffer(buf.readableBytes() * 4);
+            try {
+                try (GZIPInputStream gzip = new GZIPInputStream(new ByteBufInputStream(buf), BUFFER_SIZE)) {
+                    while (out.writeBytes(gzip, BUFFER_SIZE) != -1) {
+                        //读取至流结束
+                    }
+                }
+                return decoder.decode(out, state);
+            } finally {
+                out.release();
+            }
+        };
+    }
+
+}
@@ -0,0 +1,354 @@
+package cn.cnaworld.framework.infrastructure.utils.redis;
+
+import io.netty.buffer.ByteBuf;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RFuture;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.misc.Hash;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 可删除、可扩容的布谷鸟过滤器
+ * 元素按哈希分到多个分片，分片 {key:n} 通过hashTag分布到不同slot；每个分片由若干层组成，
+ * 每层为 BITFIELD 存储的桶数组（每桶4个16位指纹），容量不足时新增一层，新层桶数为上一层的2倍；
+ * 单个元素的添加、判断、删除均为一次 Lua 调用，批量操作通过一个管道发送
+ * 指纹为16位，每层误判率约为 1/8192
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+public final class CuckooFilter<V> {
+
+    /**
+     * 单层最大桶数，BITFIELD 偏移量不能超过 2^32 位
+     */
+    private static final long MAX_BUCKETS = 1L << 26;
+
+    private static final String PREAMBLE = "local h = tonumber(ARGV[1]); local fp = tonumber(ARGV[2]); local base = tonumber(ARGV[3]); "
+            + "local layers = tonumber(redis.call('hget', KEYS[1], 'layers') or 0); "
+            + "local function alt(i, nb, f) return bit.bxor(i, (f * 1540483477) % nb) end; "
+            + "local function slots(key, i) return redis.call('bitfield', key, "
+            + "'GET', 'u16', '#' .. (i * 4), 'GET', 'u16', '#' .. (i * 4 + 1), "
+            + "'GET', 'u16', '#' .. (i * 4 + 2), 'GET', 'u16', '#' .. (i * 4 + 3)) end; "
+            + "local function find(j) "
+            + "local key = KEYS[1] .. ':' .. j; local nb = base * 2 ^ j; local i1 = h % nb; local i2 = alt(i1, nb, fp); "
+            + "for _, i in ipairs({i1, i2}) do local r = slots(key, i); "
+            + "for s = 1, 4 do if r[s] == fp then return i * 4 + s - 1 end end end; "
+            + "return -1 end; ";
+
+    private static final String CONTAINS = PREAMBLE
+            + "for j = layers - 1, 0, -1 do if find(j) >= 0 then return 1 end end; "
+            + "return 0;";
+
+    private static final String REMOVE = PREAMBLE
+            + "for j = layers - 1, 0, -1 do local p = find(j); if p >= 0 then "
+            + "redis.call('bitfield', KEYS[1] .. ':' .. j, 'SET', 'u16', '#' .. p, 0); "
+            + "redis.call('hincrby', KEYS[1], 'count', -1); return 1 end end; "
+            + "return 0;";
+
+    /**
+     * 只向最新一层插入；踢出次数用尽时按记录的路径还原，再新增一层插入
+     * 指纹已存在时同样插入，避免删除指纹相同的其他元素后产生漏判；已存在返回0，新增返回1
+     */
+    private static final String ADD = PREAMBLE
+            + "local existed = 0; for j = layers - 1, 0, -1 do if find(j) >= 0 then existed = 1; break end end; "
+            + "local maxKicks = tonumber(ARGV[4]); local maxBuckets = tonumber(ARGV[5]); "
+            + "local function insert(j) "
+            + "local key = KEYS[1] .. ':' .. j; local nb = base * 2 ^ j; local i1 = h % nb; local i2 = alt(i1, nb, fp); "
+            + "for _, i in ipairs({i1, i2}) do local r = slots(key, i); "
+            + "for s = 1, 4 do if r[s] == 0 then redis.call('bitfield', key, 'SET', 'u16', '#' .. (i * 4 + s - 1), fp); return true end end end; "
+            + "local f = fp; local i = i1; if math.random(2) == 2 then i = i2 end; local path = {}; "
+            + "for n = 1, maxKicks do "
+            + "local p = i * 4 + math.random(4) - 1; "
+            + "local victim = redis.call('bitfield', key, 'GET', 'u16', '#' .. p)[1]; "
+            + "redis.call('bitfield', key, 'SET', 'u16', '#' .. p, f); path[n] = {p, victim}; "
+            + "f = victim; i = alt(i, nb, f); local r = slots(key, i); "
+            + "for s = 1, 4 do if r[s] == 0 then redis.call('bitfield', key, 'SET', 'u16', '#' .. (i * 4 + s - 1), f); return true end end end; "
+            + "for n = #path, 1, -1 do redis.call('bitfield', key, 'SET', 'u16', '#' .. path[n][1], path[n][2]) end; "
+            + "return false end; "
+            + "if layers == 0 or not insert(layers - 1) then "
+            + "if base * 2 ^ layers > maxBuckets then return -1 end; "
+            + "layers = layers + 1; redis.call('hset', KEYS[1], 'layers', layers); insert(layers - 1) end; "
+            + "redis.call('hincrby', KEYS[1], 'count', 1); "
+            + "return 1 - existed;";
+
+    private static final String DELETE = "local layers = tonumber(redis.call('hget', KEYS[1], 'layers') or 0); "
+            + "for j = 0, layers - 1 do redis.call('unlink', KEYS[1] .. ':' .. j) end; "
+            + "return redis.call('unlink', KEYS[1]);";
+
+    /**
+     * 首次使用时写入分片数及初始桶数，之后以redis中的配置为准
+     */
+    private static final String INIT = "redis.call('hsetnx', KEYS[1], 'shards', ARGV[1]); "
+            + "redis.call('hsetnx', KEYS[1], 'buckets', ARGV[2]); "
+            + "return redis.call('hmget', KEYS[1], 'shards', 'buckets');";
+
+    /**
+     * 脚本内容 -> SHA1
+     */
+    private static final Map<String, String> SHAS = new ConcurrentHashMap<>();
+
+    private final RedissonClient redisson;
+
+    private final String name;
+
+    private final Codec codec;
+
+    private final int shards;
+
+    private final long buckets;
+
+    private final int maxKicks;
+
+    CuckooFilter(RedissonClient redisson, String name, int shards, long buckets, int maxKicks) {
+        Assert.isTrue(name.indexOf('{') < 0 && name.indexOf('}') < 0, "布谷鸟过滤器名称不能包含 { }");
+        Assert.isTrue(shards > 0, "分片数必须大于 0");
+        Assert.isTrue(buckets > 0 && (buckets & (buckets - 1)) == 0 && buckets <= MAX_BUCKETS, "初始桶数必须为2的幂且不超过 2^26");
+        this.redisson = redisson;
+        this.name = name;
+        this.codec = redisson.getConfig().getCodec();
+        this.maxKicks = maxKicks;
+        String config = "{" + name + "}:config";
+        List<Object> stored = redisson.getScript(StringCodec.INSTANCE).eval(config, RScript.Mode.READ_WRITE, INIT,
+                RScript.ReturnType.MULTI, Collections.singletonList(config), shards, buckets);
+        this.shards = Integer.parseInt((String) stored.get(0));
+        this.buckets = Long.parseLong((String) stored.get(1));
+    }
+
+    /**
+     * 添加元素，已存在（含误判）时仍插入一份指纹，同一元素添加几次需删除几次
+     * @return true 为新增，false 为添加前可能已存在
+     * @throws IllegalStateException 分片已达最大容量
+     */
+    public boolean add(V value) {
+        return added(value, call(ADD, probe(value)));
+    }
+
+    /**
+     * @return true 为可能存在，false 为一定不存在
+     */
+    public boolean contains(V value) {
+        return call(CONTAINS, probe(value)) == 1;
+    }
+
+    /**
+     * 删除元素，只能删除通过 add 添加过的元素，否则可能误删指纹相同的其他元素
+     * @return true 为已删除
+     */
+    public boolean remove(V value) {
+        return call(REMOVE, probe(value)) == 1;
+    }
+
+    /**
+     * @return 与 values 顺序一致，true 为新增，false 为添加前可能已存在
+     */
+    public List<Boolean> addAll(Collection<V> values) {
+        List<Probe> probes = probes(values);
+        List<Long> results = pipeline(ADD, probes);
+        List<Boolean> added = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            added.add(added(probes.get(i), results.get(i)));
+        }
+        return added;
+    }
+
+    /**
+     * @return 与 values 顺序一致，true 为可能存在
+     */
+    public List<Boolean> containsAll(Collection<V> values) {
+        List<Boolean> contains = new ArrayList<>(values.size());
+        pipeline(CONTAINS, probes(values)).forEach(result -> contains.add(result == 1));
+        return contains;
+    }
+
+    /**
+     * @return 与 values 顺序一致，true 为已删除
+     */
+    public List<Boolean> removeAll(Collection<V> values) {
+        List<Boolean> removed = new ArrayList<>(values.size());
+        pipeline(REMOVE, probes(values)).forEach(result -> removed.add(result == 1));
+        return removed;
+    }
+
+    /**
+     * 元素数量，按添加次数计数
+     */
+    public long count() {
+        RBatch batch = redisson.createBatch(BatchOptions.defaults());
+        List<RFuture<String>> counts = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            counts.add(batch.<String, String>getMap(shardName(shard), StringCodec.INSTANCE).getAsync("count"));
+        }
+        batch.execute();
+        long count = 0;
+        for (RFuture<String> future : counts) {
+            String value = future.toCompletableFuture().join();
+            count += value == null ? 0 : Long.parseLong(value);
+        }
+        return count;
+    }
+
+    /**
+     * 删除全部分片及配置
+     */
+    public void delete() {
+        RBatch batch = redisson.createBatch(BatchOptions.defaults());
+        for (int shard = 0; shard < shards; shard++) {
+            String shardName = shardName(shard);
+            batch.getScript(StringCodec.INSTANCE).evalAsync(shardName, RScript.Mode.READ_WRITE, DELETE,
+                    RScript.ReturnType.INTEGER, Collections.singletonList(shardName));
+        }
+        batch.getKeys().unlinkAsync("{" + name + "}:config");
+        batch.execute();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private boolean added(Object value, long result) {
+        if (result < 0) {
+            throw new IllegalStateException("布谷鸟过滤器 " + name + " 分片已达最大容量 : " + value);
+        }
+        return result == 1;
+    }
+
+    private long call(String script, Probe probe) {
+        try {
+            Long result = redisson.getScript(StringCodec.INSTANCE).evalSha(probe.shard, RScript.Mode.READ_WRITE, sha(script),
+                    RScript.ReturnType.INTEGER, Collections.singletonList(probe.shard), probe.args(buckets, maxKicks));
+            return result;
+        } catch (RedisException e) {
+            if (!isNoScript(e)) {
+                throw e;
+            }
+            return eval(script, probe);
+        }
+    }
+
+    /**
+     * 脚本缓存被清空（重启、主从切换）时使用，EVAL 同时重新缓存脚本
+     */
+    private long eval(String script, Probe probe) {
+        Long result = redisson.getScript(StringCodec.INSTANCE).eval(probe.shard, RScript.Mode.READ_WRITE, script,
+                RScript.ReturnType.INTEGER, Collections.singletonList(probe.shard), probe.args(buckets, maxKicks));
+        return result;
+    }
+
+    /**
+     * 按 CHUNK_SIZE 分批管道发送 EVALSHA ，逐批执行，避免脚本在服务端排队超时后被重试
+     * 返回 NOSCRIPT 的命令未被执行，仅对这些元素单独 EVAL ，已执行的元素不重复执行
+     */
+    private List<Long> pipeline(String script, List<Probe> probes) {
+        String sha = sha(script);
+        List<RFuture<Long>> futures = new ArrayList<>(probes.size());
+        for (int from = 0; from < probes.size(); from += SlotBulk.CHUNK_SIZE) {
+            RBatch batch = redisson.createBatch(BatchOptions.defaults());
+            for (Probe probe : probes.subList(from, Math.min(from + SlotBulk.CHUNK_SIZE, probes.size()))) {
+                futures.add(batch.getScript(StringCodec.INSTANCE).evalShaAsync(probe.shard, RScript.Mode.READ_WRITE, sha,
+                        RScript.ReturnType.INTEGER, Collections.singletonList(probe.shard), probe.args(buckets, maxKicks)));
+            }
+            try {
+                batch.execute();
+            } catch (RedisException e) {
+                //各命令的结果已单独返回，NOSCRIPT 在下方逐个处理
+                if (!isNoScript(e)) {
+                    throw e;
+                }
+            }
+        }
+        List<Long> results = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.add(futures.get(i).toCompletableFuture().join());
+            } catch (CompletionException e) {
+                if (!(e.getCause() instanceof RedisException) || !isNoScript((RedisException) e.getCause())) {
+                    throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                }
+                results.add(eval(script, probes.get(i)));
+            }
+        }
+        return results;
+    }
+
+    private String sha(String script) {
+        return SHAS.computeIfAbsent(script, text -> redisson.getScript(StringCodec.INSTANCE).scriptLoad(text));
+    }
+
+    private static boolean isNoScript(RedisException e) {
+        return e.getMessage() != null && e.getMessage().startsWith("NOSCRIPT");
+    }
+
+
+    private List<Probe> probes(Collection<V> values) {
+        List<Probe> probes = new ArrayList<>(values.size());
+        for (V value : values) {
+            probes.add(probe(value));
+        }
+        return probes;
+    }
+
+    private Probe probe(V value) {
+        long[] hash;
+        ByteBuf state;
+        try {
+            state = codec.getValueEncoder().encode(value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+        try {
+            hash = Hash.hash128(state);
+        } finally {
+            state.release();
+        }
+        int fingerprint = (int) (hash[1] & 0xFFFF);
+        int shard = (int) ((hash[1] >>> 16) % shards);
+        return new Probe(shardName(shard), hash[0] & 0xFFFFFFFFL, fingerprint == 0 ? 1 : fingerprint, value);
+    }
+
+    private String shardName(int shard) {
+        return "{" + name + ":" + shard + "}";
+    }
+
+    private static final class Probe {
+
+        private final String shard;
+
+        private final long hash;
+
+        private final int fingerprint;
+
+        private final Object value;
+
+        private Probe(String shard, long hash, int fingerprint, Object value) {
+            this.shard = shard;
+            this.hash = hash;
+            this.fingerprint = fingerprint;
+            this.value = value;
+        }
+
+        private Object[] args(long buckets, int maxKicks) {
+            return new Object[]{hash, fingerprint, buckets, maxKicks, MAX_BUCKETS};
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(value);
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package cn.cnaworld.framework.infrastructure.utils.redis;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 延迟任务
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@Getter
+@ToString
+public class DelayedTask<V> {
+
+    /**
+     * 队列名称
+     */
+    private final String queue;
+
+    /**
+     * 任务id，CnaRedisUtil.scheduleDelayed 的返回值
+     */
+    private final String id;
+
+    private final V payload;
+
+    /**
+     * 第几次投递，从1开始；大于1时任务可能已被处理过，处理逻辑需幂等
+     */
+    private final int attempts;
+
+    public DelayedTask(String queue, String id, V payload, int attempts) {
+        this.queue = queue;
+        this.id = id;
+        this.payload = payload;
+        this.attempts = attempts;
+    }
+
+}
@@ -0,0 +1,15 @@
+package cn.cnaworld.framework.infrastructure.utils.redis;
+
+/**
+ * 延迟任务处理器
+ * 正常返回视为处理成功并确认任务，抛出异常时按 cnaworld.redis.delayed-task.retry-delay 后重试
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@FunctionalInterface
+public interface DelayedTaskHandler<V> {
+
+    void handle(DelayedTask<V> task) throws Exception;
+
+}
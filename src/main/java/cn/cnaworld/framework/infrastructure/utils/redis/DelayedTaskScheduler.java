@@ -0,0 +1,329 @@
+package cn.cnaworld.framework.infrastructure.utils.redis;
+
+import cn.cnaworld.framework.infrastructure.properties.CnaworldRedisProperties;
+import cn.cnaworld.framework.infrastructure.utils.log.CnaLogUtil;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.handler.State;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 托管的延迟任务调度
+ * 每个队列 {queue} 由到期时间排序的 {queue}:due 、任务内容 {queue}:payloads 及投递次数 {queue}:attempts 组成；
+ * 一个调度线程轮询全部已注册的队列，通过 Lua 批量领取到期任务并将其到期时间推迟一个可见性超时，
+ * 交给有界的工作线程池执行，成功后批量确认删除；节点宕机或处理超时的任务在可见性超时后重新投递（至少一次）
+ * 失败的任务在 retry-delay 后重试，投递次数达到 max-attempts 后移入 {queue}:dead
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@Slf4j
+final class DelayedTaskScheduler {
+
+    private static final String SCHEDULE = "redis.call('hset', KEYS[2], ARGV[1], ARGV[3]); "
+            + "redis.call('zadd', KEYS[1], ARGV[2], ARGV[1]); "
+            + "return 1;";
+
+    /**
+     * 领取到期任务，返回 id、内容、投递次数 依次排列的列表
+     */
+    private static final String CLAIM = "local ids = redis.call('zrangebyscore', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2]); "
+            + "local result = {}; "
+            + "for _, id in ipairs(ids) do "
+            + "local payload = redis.call('hget', KEYS[2], id); "
+            + "if payload then "
+            + "redis.call('zadd', KEYS[1], ARGV[3], id); "
+            + "table.insert(result, id); table.insert(result, payload); "
+            + "table.insert(result, tostring(redis.call('hincrby', KEYS[3], id, 1))); "
+            + "else redis.call('zrem', KEYS[1], id) end end; "
+            + "return result;";
+
+    private static final String ACK = "local removed = 0; "
+            + "for _, id in ipairs(ARGV) do "
+            + "removed = removed + redis.call('zrem', KEYS[1], id); "
+            + "redis.call('hdel', KEYS[2], id); redis.call('hdel', KEYS[3], id) end; "
+            + "return removed;";
+
+    /**
+     * 只在任务仍存在时重新设置到期时间，避免已取消的任务被重新加入
+     */
+    private static final String RETRY = "if redis.call('hexists', KEYS[2], ARGV[1]) == 1 then "
+            + "redis.call('zadd', KEYS[1], ARGV[2], ARGV[1]) end; "
+            + "return 1;";
+
+    private static final String DEAD = "redis.call('zrem', KEYS[1], ARGV[1]); "
+            + "if redis.call('hexists', KEYS[2], ARGV[1]) == 1 then redis.call('zadd', KEYS[4], ARGV[2], ARGV[1]) end; "
+            + "return 1;";
+
+    /**
+     * 单次确认的最大任务数
+     */
+    private static final int ACK_CHUNK = 1000;
+
+    private final RedissonClient redisson;
+
+    private final CnaworldRedisProperties.DelayedTask properties;
+
+    private final Codec codec;
+
+    private final Map<String, Registration> registrations = new ConcurrentHashMap<>();
+
+    /**
+     * 已领取未完成的任务数上限
+     */
+    private final Semaphore permits;
+
+    private volatile ThreadPoolExecutor workers;
+
+    private volatile Thread poller;
+
+    private volatile boolean running = true;
+
+    DelayedTaskScheduler(RedissonClient redisson, CnaworldRedisProperties.DelayedTask properties) {
+        this.redisson = redisson;
+        this.properties = properties;
+        this.codec = redisson.getConfig().getCodec();
+        this.permits = new Semaphore(Math.max(1, properties.getWorkers()) * 2);
+    }
+
+    String schedule(String queue, Object payload, long delayMillis) {
+        String id = UUID.randomUUID().toString();
+        long due = System.currentTimeMillis() + Math.max(0, delayMillis);
+        eval(queue, SCHEDULE, RScript.ReturnType.INTEGER, id, String.valueOf(due), encode(payload));
+        return id;
+    }
+
+    boolean cancel(String queue, String id) {
+        Long removed = eval(queue, ACK, RScript.ReturnType.INTEGER, id);
+        return removed != null && removed > 0;
+    }
+
+    synchronized void register(String queue, DelayedTaskHandler<?> handler) {
+        Assert.isTrue(running, "延迟任务调度已关闭");
+        keys(queue);
+        Assert.isNull(registrations.putIfAbsent(queue, new Registration(queue, handler)), "延迟任务队列已注册处理器 : " + queue);
+        if (poller == null) {
+            int size = Math.max(1, properties.getWorkers());
+            AtomicInteger index = new AtomicInteger();
+            workers = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "cnaworld-redis-delayed-" + index.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            poller = new Thread(this::run, "cnaworld-redis-delayed-poller");
+            poller.setDaemon(true);
+            poller.start();
+        }
+    }
+
+    void unregister(String queue) {
+        Registration registration = registrations.remove(queue);
+        if (registration != null) {
+            registration.active = false;
+            flush(registration);
+        }
+    }
+
+    /**
+     * 停止领取新任务，等待已领取的任务执行完成并确认，超时未完成的任务在可见性超时后由其他节点重新投递
+     */
+    synchronized void close() {
+        running = false;
+        Thread thread = poller;
+        if (thread == null) {
+            return;
+        }
+        thread.interrupt();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+            workers.shutdown();
+            if (!workers.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                CnaLogUtil.warn(log, "延迟任务未在 {} 内执行完成", properties.getShutdownTimeout());
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        registrations.values().forEach(this::flush);
+    }
+
+    private void run() {
+        while (running) {
+            boolean more = false;
+            for (Registration registration : registrations.values()) {
+                try {
+                    flush(registration);
+                    more |= poll(registration);
+                } catch (RuntimeException e) {
+                    CnaLogUtil.error(log, "延迟任务领取失败 , 队列 ：{}", registration.queue, e);
+                }
+            }
+            //有队列领取满一批时立即继续，否则等待下一个轮询间隔
+            if (!more && running) {
+                LockSupport.parkNanos(properties.getPollInterval().toNanos());
+            }
+        }
+    }
+
+    /**
+     * @return 是否领取满一批
+     */
+    private boolean poll(Registration registration) {
+        int limit = Math.min(properties.getBatchSize(), permits.availablePermits());
+        if (limit <= 0) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        List<Object> claimed = eval(registration.queue, CLAIM, RScript.ReturnType.MULTI,
+                String.valueOf(now), String.valueOf(limit), String.valueOf(now + properties.getVisibilityTimeout().toMillis()));
+        for (int i = 0; i + 2 < claimed.size(); i += 3) {
+            String id = new String((byte[]) claimed.get(i), StandardCharsets.UTF_8);
+            int attempts = Integer.parseInt(new String((byte[]) claimed.get(i + 2), StandardCharsets.UTF_8));
+            Object payload;
+            try {
+                payload = decode((byte[]) claimed.get(i + 1));
+            } catch (IOException | RuntimeException e) {
+                CnaLogUtil.error(log, "延迟任务解码失败 , 队列 ：{} , id ：{}", registration.queue, id, e);
+                failed(registration, id, attempts);
+                continue;
+            }
+            permits.acquireUninterruptibly();
+            workers.execute(() -> execute(registration, new DelayedTask<>(registration.queue, id, payload, attempts)));
+        }
+        return claimed.size() / 3 >= limit;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void execute(Registration registration, DelayedTask<Object> task) {
+        try {
+            ((DelayedTaskHandler<Object>) registration.handler).handle(task);
+            registration.acks.add(task.getId());
+            //已注销的队列不再由调度线程确认
+            if (!registration.active) {
+                flush(registration);
+            }
+        } catch (Exception e) {
+            CnaLogUtil.error(log, "延迟任务执行失败 , 队列 ：{} , id ：{} , 第 {} 次投递", task.getQueue(), task.getId(), task.getAttempts(), e);
+            try {
+                failed(registration, task.getId(), task.getAttempts());
+            } catch (RuntimeException retryException) {
+                CnaLogUtil.error(log, "延迟任务重试设置失败 , 队列 ：{} , id ：{}", task.getQueue(), task.getId(), retryException);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void failed(Registration registration, String id, int attempts) {
+        long now = System.currentTimeMillis();
+        if (attempts >= properties.getMaxAttempts()) {
+            CnaLogUtil.error(log, "延迟任务投递 {} 次后仍失败，移入死信 , 队列 ：{} , id ：{}", attempts, registration.queue, id);
+            eval(registration.queue, DEAD, RScript.ReturnType.INTEGER, id, String.valueOf(now));
+        } else {
+            eval(registration.queue, RETRY, RScript.ReturnType.INTEGER, id, String.valueOf(now + properties.getRetryDelay().toMillis()));
+        }
+    }
+
+    /**
+     * 批量确认已成功的任务
+     */
+    private void flush(Registration registration) {
+        List<Object> ids = new ArrayList<>();
+        String id;
+        while ((id = registration.acks.poll()) != null) {
+            ids.add(id.getBytes(StandardCharsets.UTF_8));
+            if (ids.size() >= ACK_CHUNK) {
+                ack(registration.queue, ids);
+                ids = new ArrayList<>();
+            }
+        }
+        if (!ids.isEmpty()) {
+            ack(registration.queue, ids);
+        }
+    }
+
+    private void ack(String queue, List<Object> ids) {
+        eval(queue, ACK, RScript.ReturnType.INTEGER, ids.toArray());
+    }
+
+    private <R> R eval(String queue, String script, RScript.ReturnType returnType, Object... args) {
+        Object[] values = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            values[i] = args[i] instanceof String ? ((String) args[i]).getBytes(StandardCharsets.UTF_8) : args[i];
+        }
+        List<Object> keys = keys(queue);
+        return redisson.getScript(ByteArrayCodec.INSTANCE).eval((String) keys.get(0), RScript.Mode.READ_WRITE, script, returnType, keys, values);
+    }
+
+    private static List<Object> keys(String queue) {
+        Assert.isTrue(queue.indexOf('{') < 0 && queue.indexOf('}') < 0, "延迟任务队列名称不能包含 { }");
+        String prefix = "{" + queue + "}:";
+        return Arrays.asList(prefix + "due", prefix + "payloads", prefix + "attempts", prefix + "dead");
+    }
+
+    private byte[] encode(Object payload) {
+        ByteBuf buf;
+        try {
+            buf = codec.getValueEncoder().encode(payload);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+        try {
+            return ByteBufUtil.getBytes(buf);
+        } finally {
+            buf.release();
+        }
+    }
+
+    private Object decode(byte[] bytes) throws IOException {
+        ByteBuf buf = Unpooled.wrappedBuffer(bytes);
+        try {
+            return codec.getValueDecoder().decode(buf, new State());
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static final class Registration {
+
+        private final String queue;
+
+        private final DelayedTaskHandler<?> handler;
+
+        /**
+         * 待确认的任务id
+         */
+        private final Queue<String> acks = new ConcurrentLinkedQueue<>();
+
+        private volatile boolean active = true;
+
+        private Registration(String queue, DelayedTaskHandler<?> handler) {
+            this.queue = queue;
+            this.handler = handler;
+        }
+    }
+
+}
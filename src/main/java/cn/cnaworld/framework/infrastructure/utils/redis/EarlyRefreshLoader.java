@@ -0,0 +1,97 @@
+package cn.cnaworld.framework.infrastructure.utils.redis;
+
+import cn.cnaworld.framework.infrastructure.properties.CnaworldRedisProperties;
+import cn.cnaworld.framework.infrastructure.utils.log.CnaLogUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 概率提前刷新
+ * 命中时按 XFetch 算法在过期前以递增的概率触发后台异步刷新，刷新期间继续返回当前值；
+ * 未命中时按单飞加载同步加载
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@Slf4j
+final class EarlyRefreshLoader {
+
+    private final CnaworldRedisProperties.Loader properties;
+
+    private final SingleFlightLoader singleFlightLoader;
+
+    /**
+     * 本JVM内正在刷新的key
+     */
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final ThreadPoolExecutor executor;
+
+    EarlyRefreshLoader(CnaworldRedisProperties.Loader properties, SingleFlightLoader singleFlightLoader) {
+        this.properties = properties;
+        this.singleFlightLoader = singleFlightLoader;
+        AtomicInteger index = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getRefreshThreads(), properties.getRefreshThreads(),
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(properties.getRefreshQueueSize()), runnable -> {
+                    Thread thread = new Thread(runnable, "cnaworld-redis-refresh-" + index.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    <V> V getOrRefresh(RedissonClient redisson, RBucket<EarlyRefreshValue<V>> bucket, Duration ttl, Supplier<V> loader) {
+        EarlyRefreshValue<V> current = bucket.get();
+        if (current == null) {
+            current = singleFlightLoader.loadOnMiss(redisson, bucket, ttl, () -> compute(ttl, loader));
+            return current == null ? null : current.getValue();
+        }
+        if (current.shouldRefresh(System.currentTimeMillis(), properties.getBeta())) {
+            refreshAsync(redisson, bucket, ttl, loader);
+        }
+        return current.getValue();
+    }
+
+    private <V> void refreshAsync(RedissonClient redisson, RBucket<EarlyRefreshValue<V>> bucket, Duration ttl, Supplier<V> loader) {
+        String key = bucket.getName();
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    singleFlightLoader.refresh(redisson, bucket, ttl, () -> compute(ttl, loader));
+                } catch (Throwable e) {
+                    CnaLogUtil.warn(log, "key ：{} ,提前刷新失败，继续使用当前值", key, e);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            //刷新队列已满，等待下次命中时再次判断
+            refreshing.remove(key);
+        }
+    }
+
+    private static <V> EarlyRefreshValue<V> compute(Duration ttl, Supplier<V> loader) {
+        long start = System.currentTimeMillis();
+        V value = loader.get();
+        if (value == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        return new EarlyRefreshValue<>(value, now - start, now + ttl.toMillis());
+    }
+
+}
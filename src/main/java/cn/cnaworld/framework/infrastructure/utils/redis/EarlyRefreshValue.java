@@ -0,0 +1,51 @@
+package cn.cnaworld.framework.infrastructure.utils.redis;
+
+import java.io.Serializable;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 提前刷新缓存值
+ * 与值一同保存加载耗时及逻辑过期时间，用于按 XFetch 算法计算提前刷新的概率
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+final class EarlyRefreshValue<V> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private V value;
+
+    /**
+     * 加载耗时毫秒数
+     */
+    private long delta;
+
+    /**
+     * 过期时间毫秒时间戳
+     */
+    private long expireAt;
+
+    private EarlyRefreshValue() {
+    }
+
+    EarlyRefreshValue(V value, long delta, long expireAt) {
+        this.value = value;
+        this.delta = delta;
+        this.expireAt = expireAt;
+    }
+
+    V getValue() {
+        return value;
+    }
+
+    /**
+     * XFetch：now - delta * beta * ln(random) >= expireAt 时刷新
+     * 越接近过期、加载越慢，提前刷新的概率越大
+     */
+    boolean shouldRefresh(long now, double beta) {
+        double random = 1 - ThreadLocalRandom.current().nextDouble();
+        return now - delta * beta * Math.log(random) >= expireAt;
+    }
+
+}
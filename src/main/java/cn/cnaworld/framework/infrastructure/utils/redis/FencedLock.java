@@ -0,0 +1,311 @@
+package cn.cnaworld.framework.infrastructure.utils.redis;
+
+import org.redisson.RedissonBaseLock;
+import org.redisson.RedissonObject;
+import org.redisson.api.RFuture;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.LongCodec;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.misc.CompletableFutureWrapper;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 防护令牌锁 Fenced Lock
+ * 可重入锁，加锁与分配令牌在同一个 Lua 脚本中完成：首次持有时对 {key}:fencing 执行 INCR ，令牌写入锁hash并随加锁结果返回，
+ * 重入时返回本次持有的令牌；令牌顺序与持有顺序一致，锁过期后被他人获取时，原持有者无法再获得更大的令牌
+ * 不使用 pub/sub 订阅解锁通知，等待期间按锁剩余时间及指数退避重试
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+public final class FencedLock extends RedissonBaseLock {
+
+    /**
+     * 未持有锁时的令牌值，令牌从1开始递增
+     */
+    public static final long NO_TOKEN = 0L;
+
+    /**
+     * 加锁成功返回 {1, 令牌}，失败返回 {0, 锁剩余毫秒数}
+     */
+    private static final String ACQUIRE = "if (redis.call('exists', KEYS[1]) == 0) or (redis.call('hexists', KEYS[1], ARGV[2]) == 1) then "
+            + "local token; "
+            + "if redis.call('hincrby', KEYS[1], ARGV[2], 1) == 1 then "
+            + "token = redis.call('incr', KEYS[2]); redis.call('hset', KEYS[1], 'fencing', token); "
+            + "else token = tonumber(redis.call('hget', KEYS[1], 'fencing')); end; "
+            + "redis.call('pexpire', KEYS[1], ARGV[1]); "
+            + "return {1, token}; end; "
+            + "return {0, redis.call('pttl', KEYS[1])};";
+
+    private static final String RELEASE = "if (redis.call('hexists', KEYS[1], ARGV[2]) == 0) then return nil; end; "
+            + "if (redis.call('hincrby', KEYS[1], ARGV[2], -1) > 0) then "
+            + "redis.call('pexpire', KEYS[1], ARGV[1]); return 0; end; "
+            + "redis.call('del', KEYS[1]); return 1;";
+
+    private static final String FORCE_RELEASE = "return redis.call('del', KEYS[1]);";
+
+    private static final long MIN_DELAY_MILLIS = 1;
+
+    private static final long MAX_DELAY_MILLIS = 128;
+
+    private final CommandAsyncExecutor executor;
+
+    /**
+     * 令牌计数器，与锁key位于同一slot
+     */
+    private final String fencingName;
+
+    /**
+     * 各持有者最近一次加锁成功的令牌
+     */
+    private final Map<Long, Long> tokens = new ConcurrentHashMap<>();
+
+    public FencedLock(CommandAsyncExecutor executor, String name) {
+        super(executor, name);
+        this.executor = executor;
+        this.fencingName = RedissonObject.suffixName(name, "fencing");
+    }
+
+    /**
+     * 当前线程最近一次加锁成功的令牌
+     */
+    public long getToken() {
+        return getToken(Thread.currentThread().getId());
+    }
+
+    /**
+     * 指定持有者最近一次加锁成功的令牌
+     * @param threadId 加锁时使用的持有者标识
+     * @return 未加锁成功时返回 NO_TOKEN
+     */
+    public long getToken(long threadId) {
+        return tokens.getOrDefault(threadId, NO_TOKEN);
+    }
+
+    @Override
+    public void lock() {
+        awaitUninterruptibly(acquireAsync(-1, -1, TimeUnit.MILLISECONDS, currentThreadId()));
+    }
+
+    @Override
+    public void lock(long leaseTime, TimeUnit unit) {
+        awaitUninterruptibly(acquireAsync(-1, leaseTime, unit, currentThreadId()));
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        await(acquireAsync(-1, -1, TimeUnit.MILLISECONDS, currentThreadId()), currentThreadId());
+    }
+
+    @Override
+    public void lockInterruptibly(long leaseTime, TimeUnit unit) throws InterruptedException {
+        await(acquireAsync(-1, leaseTime, unit, currentThreadId()), currentThreadId());
+    }
+
+    @Override
+    public boolean tryLock() {
+        return awaitUninterruptibly(acquireAsync(0, -1, TimeUnit.MILLISECONDS, currentThreadId()));
+    }
+
+    @Override
+    public boolean tryLock(long waitTime, long leaseTime, TimeUnit unit) throws InterruptedException {
+        return await(acquireAsync(waitTime, leaseTime, unit, currentThreadId()), currentThreadId());
+    }
+
+    @Override
+    public boolean tryLock(long waitTime, TimeUnit unit) throws InterruptedException {
+        return tryLock(waitTime, -1, unit);
+    }
+
+    @Override
+    public void unlock() {
+        awaitUninterruptibly(unlockAsync(currentThreadId()).toCompletableFuture());
+    }
+
+    @Override
+    public boolean forceUnlock() {
+        return awaitUninterruptibly(forceUnlockAsync().toCompletableFuture());
+    }
+
+    @Override
+    public RFuture<Boolean> forceUnlockAsync() {
+        cancelExpirationRenewal(null);
+        RFuture<Long> deleted = evalWriteAsync(getRawName(), LongCodec.INSTANCE, RedisCommands.EVAL_LONG, FORCE_RELEASE,
+                Collections.singletonList(getRawName()));
+        return new CompletableFutureWrapper<>(deleted.thenApply(count -> count > 0));
+    }
+
+    @Override
+    protected RFuture<Boolean> unlockInnerAsync(long threadId) {
+        RFuture<Boolean> released = evalWriteAsync(getRawName(), LongCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN, RELEASE,
+                Collections.singletonList(getRawName()), internalLockLeaseTime, getLockName(threadId));
+        return new CompletableFutureWrapper<>(released.thenApply(fully -> {
+            if (Boolean.TRUE.equals(fully)) {
+                tokens.remove(threadId);
+            }
+            return fully;
+        }));
+    }
+
+    @Override
+    public RFuture<Void> lockAsync() {
+        return lockAsync(-1, TimeUnit.MILLISECONDS, currentThreadId());
+    }
+
+    @Override
+    public RFuture<Void> lockAsync(long leaseTime, TimeUnit unit) {
+        return lockAsync(leaseTime, unit, currentThreadId());
+    }
+
+    @Override
+    public RFuture<Void> lockAsync(long threadId) {
+        return lockAsync(-1, TimeUnit.MILLISECONDS, threadId);
+    }
+
+    @Override
+    public RFuture<Void> lockAsync(long leaseTime, TimeUnit unit, long threadId) {
+        return new CompletableFutureWrapper<>(acquireAsync(-1, leaseTime, unit, threadId).thenApply(locked -> (Void) null));
+    }
+
+    @Override
+    public RFuture<Boolean> tryLockAsync() {
+        return tryLockAsync(currentThreadId());
+    }
+
+    @Override
+    public RFuture<Boolean> tryLockAsync(long threadId) {
+        return new CompletableFutureWrapper<>(acquireAsync(0, -1, TimeUnit.MILLISECONDS, threadId));
+    }
+
+    @Override
+    public RFuture<Boolean> tryLockAsync(long waitTime, TimeUnit unit) {
+        return tryLockAsync(waitTime, -1, unit);
+    }
+
+    @Override
+    public RFuture<Boolean> tryLockAsync(long waitTime, long leaseTime, TimeUnit unit) {
+        return tryLockAsync(waitTime, leaseTime, unit, currentThreadId());
+    }
+
+    @Override
+    public RFuture<Boolean> tryLockAsync(long waitTime, long leaseTime, TimeUnit unit, long threadId) {
+        return new CompletableFutureWrapper<>(acquireAsync(waitTime, leaseTime, unit, threadId));
+    }
+
+    /**
+     * 加锁，waitTime 小于0时一直等待，leaseTime 小于等于0时使用看门狗续期
+     * 返回的结果被取消后才加锁成功时自动解锁
+     */
+    private CompletableFuture<Boolean> acquireAsync(long waitTime, long leaseTime, TimeUnit unit, long threadId) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        long deadline = waitTime < 0 ? Long.MAX_VALUE : System.nanoTime() + unit.toNanos(waitTime);
+        attempt(leaseTime, unit, threadId, deadline, MIN_DELAY_MILLIS, result);
+        return result;
+    }
+
+    private void attempt(long leaseTime, TimeUnit unit, long threadId, long deadline, long delayMillis, CompletableFuture<Boolean> result) {
+        if (result.isDone()) {
+            return;
+        }
+        tryAcquireAsync(leaseTime, unit, threadId).whenComplete((ttl, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e);
+                return;
+            }
+            if (ttl == null) {
+                if (!result.complete(true)) {
+                    unlockAsync(threadId);
+                }
+                return;
+            }
+            long remaining = deadline == Long.MAX_VALUE ? Long.MAX_VALUE : TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                result.complete(false);
+                return;
+            }
+            long delay = Math.max(MIN_DELAY_MILLIS, Math.min(Math.min(delayMillis, ttl > 0 ? ttl : delayMillis), remaining));
+            executor.getConnectionManager().newTimeout(timeout -> attempt(leaseTime, unit, threadId, deadline,
+                    Math.min(delayMillis * 2, MAX_DELAY_MILLIS), result), delay, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    /**
+     * 尝试加锁一次
+     * @return 加锁成功返回 null ，失败返回锁剩余毫秒数
+     */
+    private CompletableFuture<Long> tryAcquireAsync(long leaseTime, TimeUnit unit, long threadId) {
+        long leaseMillis = leaseTime > 0 ? unit.toMillis(leaseTime) : internalLockLeaseTime;
+        RFuture<List<Object>> future = evalWriteAsync(getRawName(), LongCodec.INSTANCE, RedisCommands.EVAL_LIST, ACQUIRE,
+                Arrays.asList(getRawName(), fencingName), leaseMillis, getLockName(threadId));
+        return future.toCompletableFuture().thenApply(reply -> {
+            long value = ((Number) reply.get(1)).longValue();
+            if (((Number) reply.get(0)).longValue() == 0) {
+                return value;
+            }
+            tokens.put(threadId, value);
+            if (leaseTime <= 0) {
+                scheduleExpirationRenewal(threadId);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 可中断等待，中断时取消加锁，已加锁成功则解锁
+     */
+    private boolean await(CompletableFuture<Boolean> future, long threadId) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            if (!future.cancel(false) && Boolean.TRUE.equals(future.getNow(false))) {
+                unlockAsync(threadId);
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    /**
+     * 不可中断等待，等待期间的中断在返回后恢复
+     */
+    private static <V> V awaitUninterruptibly(CompletableFuture<V> future) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw rethrow(e.getCause());
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        return new RedisException("加锁异常", cause);
+    }
+
+    private static long currentThreadId() {
+        return Thread.currentThread().getId();
+    }
+
+}
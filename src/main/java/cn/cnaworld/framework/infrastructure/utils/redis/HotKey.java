@@ -0,0 +1,37 @@
+package cn.cnaworld.framework.infrastructure.utils.redis;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 热点key统计结果
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@Getter
+@ToString
+public class HotKey {
+
+    /**
+     * redis key
+     */
+    private final String key;
+
+    /**
+     * 按采样率折算后的访问次数估计值（含按统计窗口衰减的历史访问）
+     */
+    private final long count;
+
+    /**
+     * 每秒访问次数估计值
+     */
+    private final double rate;
+
+    public HotKey(String key, long count, double rate) {
+        this.key = key;
+        this.count = count;
+        this.rate = rate;
+    }
+
+}
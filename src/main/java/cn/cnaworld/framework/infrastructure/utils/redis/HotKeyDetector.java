@@ -0,0 +1,191 @@
+package cn.cnaworld.framework.infrastructure.utils.redis;
+
+import cn.cnaworld.framework.infrastructure.properties.CnaworldRedisProperties;
+import org.redisson.cache.Cache;
+import org.redisson.cache.LRUCacheMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 热点key探测
+ * 按采样率采样访问的key，使用 Count-Min Sketch 估计访问次数，并维护访问次数最高的 topK 个候选key；
+ * 每个统计窗口结束时计数减半，使统计结果偏向最近的访问。记录访问仅包含原子计数，候选key未变化时无锁
+ * 可选将访问频率超过阈值的key提升到JVM本地缓存，缓存有效期较短，不接收其他节点的修改通知
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+final class HotKeyDetector {
+
+    private static final int DEPTH = 4;
+
+    private static final int WIDTH = 4096;
+
+    private final AtomicLongArray sketch = new AtomicLongArray(DEPTH * WIDTH);
+
+    private final double sampleRate;
+
+    private final int topK;
+
+    private final long windowNanos;
+
+    private final double promoteRate;
+
+    /**
+     * 候选key及其访问次数估计值（采样次数）
+     */
+    private final Map<String, Long> candidates = new ConcurrentHashMap<>();
+
+    /**
+     * 候选已满时进入候选所需的最小估计值
+     */
+    private volatile long admission;
+
+    private volatile long windowStart = System.nanoTime();
+
+    /**
+     * 衰减后的历史计数对应的时长纳秒数，每个窗口结束时为 (上一值 + 窗口时长) / 2
+     */
+    private volatile long historyNanos;
+
+    private final Cache<String, Object> promoted;
+
+    HotKeyDetector(CnaworldRedisProperties.HotKey properties) {
+        this.sampleRate = Math.min(1.0, Math.max(properties.getSampleRate(), Double.MIN_VALUE));
+        this.topK = Math.max(1, properties.getTopK());
+        this.windowNanos = properties.getWindow().toNanos();
+        this.promoteRate = properties.getPromoteRate();
+        this.promoted = promoteRate > 0
+                ? new LRUCacheMap<>(properties.getPromoteMaxSize(), properties.getPromoteTtl().toMillis(), 0) : null;
+    }
+
+    void record(String key) {
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (now - windowStart >= windowNanos) {
+            decay(now);
+        }
+        int hash = spread(key.hashCode());
+        int step = spread(hash * 0x9E3779B9) | 1;
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = row * WIDTH + ((hash + row * step) & (WIDTH - 1));
+            min = Math.min(min, sketch.incrementAndGet(index));
+        }
+        long estimate = min;
+        if (candidates.computeIfPresent(key, (k, count) -> Math.max(count, estimate)) == null
+                && (candidates.size() < topK || estimate > admission)) {
+            admit(key, estimate);
+        }
+    }
+
+    /**
+     * 当前访问次数最高的key，按访问频率降序
+     */
+    List<HotKey> hotKeys() {
+        double seconds = seconds();
+        List<HotKey> hotKeys = new ArrayList<>(candidates.size());
+        candidates.forEach((key, count) -> {
+            long scaled = (long) (count / sampleRate);
+            hotKeys.add(new HotKey(key, scaled, scaled / seconds));
+        });
+        hotKeys.sort((a, b) -> Double.compare(b.getRate(), a.getRate()));
+        return hotKeys;
+    }
+
+    boolean promoteEnabled() {
+        return promoted != null;
+    }
+
+    Object getPromoted(String key) {
+        return promoted.get(key);
+    }
+
+    /**
+     * 访问频率超过阈值时提升到本地缓存
+     */
+    void promoteIfHot(String key, Object value) {
+        Long count = candidates.get(key);
+        if (value != null && count != null && count / sampleRate / seconds() >= promoteRate) {
+            promoted.put(key, value);
+        }
+    }
+
+    void invalidate(String key) {
+        if (promoted != null) {
+            promoted.remove(key);
+        }
+    }
+
+    void invalidateAll() {
+        if (promoted != null) {
+            promoted.clear();
+        }
+    }
+
+    private synchronized void admit(String key, long estimate) {
+        candidates.put(key, estimate);
+        if (candidates.size() > topK) {
+            String min = null;
+            long minCount = Long.MAX_VALUE;
+            for (Map.Entry<String, Long> entry : candidates.entrySet()) {
+                if (entry.getValue() < minCount) {
+                    min = entry.getKey();
+                    minCount = entry.getValue();
+                }
+            }
+            candidates.remove(min);
+        }
+        if (candidates.size() >= topK) {
+            long minCount = Long.MAX_VALUE;
+            for (Long count : candidates.values()) {
+                minCount = Math.min(minCount, count);
+            }
+            admission = minCount;
+        }
+    }
+
+    /**
+     * 窗口结束时计数减半
+     */
+    private synchronized void decay(long now) {
+        if (now - windowStart < windowNanos) {
+            return;
+        }
+        for (int i = 0; i < sketch.length(); i++) {
+            long count = sketch.get(i);
+            if (count > 0) {
+                sketch.set(i, count >> 1);
+            }
+        }
+        candidates.replaceAll((key, count) -> count >> 1);
+        candidates.values().removeIf(count -> count == 0);
+        admission = admission >> 1;
+        historyNanos = (historyNanos + now - windowStart) >> 1;
+        windowStart = now;
+    }
+
+    /**
+     * 计数对应的统计时长秒数，不足1秒按1秒计算
+     */
+    private double seconds() {
+        long elapsed = System.nanoTime() - windowStart;
+        return Math.max(1.0, (double) (elapsed + historyNanos) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        return hash;
+    }
+
+}
@@ -0,0 +1,83 @@
+package cn.cnaworld.framework.infrastructure.utils.redis;
+
+import cn.cnaworld.framework.infrastructure.properties.CnaworldRedisProperties;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按key前缀选择编码
+ * 最长前缀优先，未匹配任何前缀的key使用redisson默认编码，配置了默认压缩阈值时包装为压缩编码
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+final class KeyCodecs {
+
+    private final String[] prefixes;
+
+    private final Codec[] codecs;
+
+    /**
+     * 未匹配前缀时使用，null 为redisson默认编码
+     */
+    private final Codec defaultCodec;
+
+    KeyCodecs(CnaworldRedisProperties.Codec properties, RedissonClient redisson) {
+        List<CnaworldRedisProperties.Codec.Rule> rules = new ArrayList<>(properties.getRules());
+        for (CnaworldRedisProperties.Codec.Rule rule : rules) {
+            Assert.hasLength(rule.getPrefix(), "cnaworld.redis.codec.rules.prefix 不能为空");
+        }
+        rules.sort(Comparator.comparingInt((CnaworldRedisProperties.Codec.Rule rule) -> rule.getPrefix().length()).reversed());
+        this.prefixes = new String[rules.size()];
+        this.codecs = new Codec[rules.size()];
+        //相同配置共用编码实例，便于批量操作按编码分组
+        Map<Object, Codec> instances = new HashMap<>();
+        Codec redissonCodec = redisson.getConfig().getCodec();
+        this.defaultCodec = properties.getCompressThreshold() < 0 ? null
+                : compression(instances, redissonCodec, properties.getCompressThreshold());
+        for (int i = 0; i < rules.size(); i++) {
+            CnaworldRedisProperties.Codec.Rule rule = rules.get(i);
+            int threshold = rule.getCompressThreshold() == null ? properties.getCompressThreshold() : rule.getCompressThreshold();
+            prefixes[i] = rule.getPrefix();
+            if (rule.getCodec() == null) {
+                codecs[i] = threshold < 0 ? null : compression(instances, redissonCodec, threshold);
+            } else {
+                Codec codec = instances.computeIfAbsent(rule.getCodec(), type -> BeanUtils.instantiateClass(rule.getCodec()));
+                codecs[i] = threshold < 0 ? codec : compression(instances, codec, threshold);
+            }
+        }
+    }
+
+    private static Codec compression(Map<Object, Codec> instances, Codec codec, int threshold) {
+        return instances.computeIfAbsent(Arrays.asList(codec, threshold), type -> new CompressionCodec(codec, threshold));
+    }
+
+    /**
+     * 是否存在任何编码配置
+     */
+    boolean isEmpty() {
+        return prefixes.length == 0 && defaultCodec == null;
+    }
+
+    /**
+     * @return key对应的编码，null 为redisson默认编码
+     */
+    Codec of(String key) {
+        for (int i = 0; i < prefixes.length; i++) {
+            if (key.startsWith(prefixes[i])) {
+                return codecs[i];
+            }
+        }
+        return defaultCodec;
+    }
+
+}
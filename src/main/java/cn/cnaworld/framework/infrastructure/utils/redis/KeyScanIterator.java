@@ -0,0 +1,137 @@
+package cn.cnaworld.framework.infrastructure.utils.redis;
+
+import org.redisson.client.protocol.decoder.ListScanResult;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 按节点并行扫描key的迭代器
+ * 各节点同时请求下一页，每个节点最多缓存一页，消费速度决定扫描速度
+ * getCursor 返回可恢复的游标，从游标恢复时可能重复返回少量已返回的key（SCAN 本身同样可能重复）
+ * 非线程安全
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+public final class KeyScanIterator implements Iterator<String> {
+
+    private final List<KeyScanner.Node> nodes;
+
+    /**
+     * 各节点已发出的下一页扫描，null 表示该节点已扫描完成
+     */
+    private final List<CompletableFuture<ListScanResult<String>>> pending;
+
+    private final String pattern;
+
+    private final int count;
+
+    private final Deque<String> buffer = new ArrayDeque<>();
+
+    /**
+     * 当前缓存页所属节点下标
+     */
+    private int current = -1;
+
+    /**
+     * 上一次读取的节点下标，用于轮询
+     */
+    private int last = -1;
+
+    /**
+     * 当前缓存页的下一页游标
+     */
+    private long next;
+
+    KeyScanIterator(List<KeyScanner.Node> nodes, String pattern, int count) {
+        this.nodes = nodes;
+        this.pattern = pattern;
+        this.count = count;
+        this.pending = new ArrayList<>(nodes.size());
+        for (KeyScanner.Node node : nodes) {
+            pending.add(node.scan(node.position, pattern, count));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (buffer.isEmpty()) {
+            if (current >= 0) {
+                //当前页已消费完，推进该节点的游标
+                KeyScanner.Node node = nodes.get(current);
+                node.position = next;
+                node.finished = next == KeyScanner.START;
+                current = -1;
+            }
+            int index = nextPending();
+            if (index < 0) {
+                return false;
+            }
+            ListScanResult<String> page = join(pending.set(index, null));
+            current = index;
+            last = index;
+            next = page.getPos();
+            if (next != KeyScanner.START) {
+                //预取下一页
+                pending.set(index, nodes.get(index).scan(next, pattern, count));
+            }
+            buffer.addAll(page.getValues());
+        }
+        return true;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return buffer.poll();
+    }
+
+    /**
+     * 可恢复的游标，扫描完成后返回 null
+     * 作为 CnaRedisUtil.scan 的 cursor 参数从当前位置继续扫描
+     */
+    public String getCursor() {
+        StringJoiner cursor = new StringJoiner(";");
+        for (KeyScanner.Node node : nodes) {
+            if (!node.finished) {
+                cursor.add(node.address + "=" + node.position);
+            }
+        }
+        return cursor.length() == 0 ? null : cursor.toString();
+    }
+
+    /**
+     * 轮询选择下一个仍有数据的节点
+     */
+    private int nextPending() {
+        for (int i = 1; i <= pending.size(); i++) {
+            int index = (last + i) % pending.size();
+            if (pending.get(index) != null) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static ListScanResult<String> join(CompletableFuture<ListScanResult<String>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+}
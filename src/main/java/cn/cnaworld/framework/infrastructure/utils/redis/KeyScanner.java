@@ -0,0 +1,150 @@
+package cn.cnaworld.framework.infrastructure.utils.redis;
+
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.client.protocol.decoder.ListScanResult;
+import org.redisson.connection.MasterSlaveEntry;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 按节点并行的 SCAN
+ * 每个主节点独立维护 SCAN 游标，游标格式为 host:port=pos;host:port=pos ，已扫描完的节点不出现在游标中
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+final class KeyScanner {
+
+    static final long START = 0;
+
+    private KeyScanner() {
+    }
+
+    static KeyScanIterator iterator(RedissonClient redisson, String pattern, int count, String cursor) {
+        return new KeyScanIterator(nodes(redisson, cursor), pattern, count);
+    }
+
+    static Flux<String> flux(RedissonClient redisson, String pattern, int count, String cursor) {
+        List<Flux<List<String>>> pages = new ArrayList<>();
+        for (Node node : nodes(redisson, cursor)) {
+            //expand 按下游需求逐页请求，背压由下游决定
+            pages.add(Mono.fromCompletionStage(() -> node.scan(node.position, pattern, count))
+                    .expand(page -> page.getPos() == START ? Mono.empty()
+                            : Mono.fromCompletionStage(() -> node.scan(page.getPos(), pattern, count)))
+                    .map(ListScanResult::getValues));
+        }
+        return Flux.merge(pages).concatMapIterable(keys -> keys);
+    }
+
+    /**
+     * 按 chunkSize 分块 UNLINK ，maxKeysPerSecond 大于 0 时限制每秒删除数量
+     * @return 删除的key数量
+     */
+    static long unlinkByPattern(RedissonClient redisson, String pattern, int count, int chunkSize, int maxKeysPerSecond) {
+        Assert.isTrue(chunkSize > 0, "chunkSize 必须大于 0");
+        KeyScanIterator iterator = iterator(redisson, pattern, count, null);
+        List<String> chunk = new ArrayList<>(chunkSize);
+        long deleted = 0;
+        long scanned = 0;
+        long start = System.nanoTime();
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() >= chunkSize || !iterator.hasNext()) {
+                deleted += redisson.getKeys().unlink(chunk.toArray(new String[0]));
+                scanned += chunk.size();
+                chunk.clear();
+                if (maxKeysPerSecond > 0) {
+                    long expected = start + TimeUnit.SECONDS.toNanos(scanned) / maxKeysPerSecond;
+                    long wait = expected - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    if (Thread.currentThread().isInterrupted()) {
+                        break;
+                    }
+                }
+            }
+        }
+        return deleted;
+    }
+
+    private static List<Node> nodes(RedissonClient redisson, String cursor) {
+        Assert.isInstanceOf(Redisson.class, redisson, "SCAN 需要 Redisson 实例");
+        Redisson client = (Redisson) redisson;
+        Map<String, Long> positions = parse(cursor);
+        List<Node> nodes = new ArrayList<>();
+        Collection<MasterSlaveEntry> entries = client.getConnectionManager().getEntrySet();
+        for (MasterSlaveEntry entry : entries) {
+            String address = address(entry.getClient().getAddr());
+            Long position = positions == null ? Long.valueOf(START) : positions.get(address);
+            //游标中不存在的节点已扫描完成
+            if (position != null) {
+                nodes.add(new Node(client, entry, address, position));
+            }
+        }
+        return nodes;
+    }
+
+    private static Map<String, Long> parse(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        Map<String, Long> positions = new HashMap<>();
+        for (String part : cursor.split(";")) {
+            int index = part.lastIndexOf('=');
+            Assert.isTrue(index > 0, "无效的游标 : " + cursor);
+            positions.put(part.substring(0, index), Long.parseLong(part.substring(index + 1)));
+        }
+        return positions;
+    }
+
+    private static String address(InetSocketAddress address) {
+        return address.getHostString() + ":" + address.getPort();
+    }
+
+    static final class Node {
+
+        private final Redisson redisson;
+
+        private final MasterSlaveEntry entry;
+
+        final String address;
+
+        /**
+         * 当前正在消费的页的起始游标，从该游标恢复时可能重复返回该页已消费的key
+         */
+        long position;
+
+        /**
+         * 是否已消费完最后一页
+         */
+        boolean finished;
+
+        Node(Redisson redisson, MasterSlaveEntry entry, String address, long position) {
+            this.redisson = redisson;
+            this.entry = entry;
+            this.address = address;
+            this.position = position;
+        }
+
+        CompletableFuture<ListScanResult<String>> scan(long position, String pattern, int count) {
+            return redisson.getCommandExecutor().<ListScanResult<String>, ListScanResult<String>>readAsync(entry.getClient(), entry,
+                    StringCodec.INSTANCE, RedisCommands.SCAN, position, "MATCH", pattern, "COUNT", count).toCompletableFuture();
+        }
+    }
+
+}
@@ -0,0 +1,179 @@
+package cn.cnaworld.framework.infrastructure.utils.redis;
+
+import cn.cnaworld.framework.infrastructure.properties.CnaworldRedisProperties;
+import cn.cnaworld.framework.infrastructure.utils.log.CnaLogUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.LocalCachedMapOptions;
+import org.redisson.api.RPatternTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.PatternMessageListener;
+import org.redisson.api.listener.PatternStatusListener;
+import org.redisson.cache.Cache;
+import org.redisson.cache.LFUCacheMap;
+import org.redisson.cache.LRUCacheMap;
+import org.redisson.client.codec.StringCodec;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 按key前缀开启的bucket本地缓存
+ * 通过 CnaRedisUtil 写入、删除时失效本地缓存；其他客户端的修改通过redis键空间通知（__keyspace@*__:前缀*）失效，
+ * 需在redis开启 notify-keyspace-events（至少包含 K$gx），订阅建立或断线重连后清空本地缓存
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@Slf4j
+final class NearCache {
+
+    private static final String KEYSPACE_PREFIX = "__keyspace@*__:";
+
+    private final String[] prefixes;
+
+    private final Cache<String, Object> cache;
+
+    /**
+     * 正在从redis读取的key及本次读取的标记，失效时删除该key的标记；
+     * 读取完成后标记已不存在则不保留本次写入的本地缓存，避免缓存已被修改的旧值，其他key的失效不影响本次读取
+     */
+    private final Map<String, Object> pendingFills = new ConcurrentHashMap<>();
+
+    private final List<RPatternTopic> topics = new ArrayList<>();
+
+    private final List<Integer> listenerIds = new ArrayList<>();
+
+    NearCache(CnaworldRedisProperties.NearCache properties) {
+        this.prefixes = properties.getPrefixes().toArray(new String[0]);
+        long timeToLive = properties.getTimeToLive() == null ? 0 : properties.getTimeToLive().toMillis();
+        if (properties.getEvictionPolicy() == LocalCachedMapOptions.EvictionPolicy.LFU) {
+            this.cache = new LFUCacheMap<>(properties.getMaxSize(), timeToLive, 0);
+        } else {
+            this.cache = new LRUCacheMap<>(properties.getMaxSize(), timeToLive, 0);
+        }
+    }
+
+    /**
+     * 订阅各前缀的键空间通知
+     */
+    void subscribe(RedissonClient redisson) {
+        PatternMessageListener<String> messageListener = (pattern, channel, event) -> {
+            String name = channel.toString();
+            invalidate(name.substring(name.indexOf("__:") + 3));
+        };
+        PatternStatusListener statusListener = new PatternStatusListener() {
+            @Override
+            public void onPSubscribe(String pattern) {
+                //订阅建立前及断线期间的通知已丢失
+                invalidateAll();
+            }
+
+            @Override
+            public void onPUnsubscribe(String pattern) {
+                invalidateAll();
+            }
+        };
+        for (String prefix : prefixes) {
+            RPatternTopic topic = redisson.getPatternTopic(KEYSPACE_PREFIX + prefix + "*", StringCodec.INSTANCE);
+            topics.add(topic);
+            listenerIds.add(topic.addListener(statusListener));
+            topics.add(topic);
+            listenerIds.add(topic.addListener(String.class, messageListener));
+        }
+        CnaLogUtil.info(log, "near cache enabled for prefixes {}", (Object) prefixes);
+    }
+
+    void close() {
+        for (int i = 0; i < topics.size(); i++) {
+            try {
+                topics.get(i).removeListener(listenerIds.get(i));
+            } catch (Exception e) {
+                CnaLogUtil.warn(log, "near cache unsubscribe failed : {}", topics.get(i).getPatternNames(), e);
+            }
+        }
+        topics.clear();
+        listenerIds.clear();
+        invalidateAll();
+    }
+
+    boolean matches(String key) {
+        for (String prefix : prefixes) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    <V> V get(String key, Supplier<V> remote) {
+        Object value = cache.get(key);
+        if (value != null) {
+            return (V) value;
+        }
+        Object fill = new Object();
+        pendingFills.put(key, fill);
+        V loaded;
+        try {
+            loaded = remote.get();
+        } catch (RuntimeException e) {
+            pendingFills.remove(key, fill);
+            throw e;
+        }
+        fill(key, fill, loaded);
+        return loaded;
+    }
+
+    @SuppressWarnings("unchecked")
+    <V> CompletableFuture<V> getAsync(String key, Supplier<CompletableFuture<V>> remote) {
+        Object value = cache.get(key);
+        if (value != null) {
+            return CompletableFuture.completedFuture((V) value);
+        }
+        Object fill = new Object();
+        pendingFills.put(key, fill);
+        CompletableFuture<V> future;
+        try {
+            future = remote.get();
+        } catch (RuntimeException e) {
+            pendingFills.remove(key, fill);
+            throw e;
+        }
+        return future.whenComplete((loaded, e) -> {
+            if (e != null) {
+                pendingFills.remove(key, fill);
+            } else {
+                fill(key, fill, loaded);
+            }
+        });
+    }
+
+    /**
+     * 写入本地缓存后再移除读取标记，标记已被失效删除时写入的可能是旧值，撤销本次写入
+     */
+    private void fill(String key, Object fill, Object loaded) {
+        if (loaded == null) {
+            pendingFills.remove(key, fill);
+            return;
+        }
+        cache.put(key, loaded);
+        if (!pendingFills.remove(key, fill)) {
+            cache.remove(key);
+        }
+    }
+
+    void invalidate(String key) {
+        pendingFills.remove(key);
+        cache.remove(key);
+    }
+
+    void invalidateAll() {
+        pendingFills.clear();
+        cache.clear();
+    }
+
+}
@@ -0,0 +1,152 @@
+package cn.cnaworld.framework.infrastructure.utils.redis;
+
+import cn.cnaworld.framework.infrastructure.properties.CnaworldRedisProperties;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * 缓存单飞加载
+ * 同一JVM内同一key的并发未命中共享一次加载结果；跨节点通过 key + ":loading" 守护key选出一个节点执行加载，
+ * 其余节点短暂轮询等待加载结果，超时后返回旧值，无旧值则自行加载
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+final class SingleFlightLoader {
+
+    static final String LOADING_SUFFIX = ":loading";
+
+    static final String STALE_SUFFIX = ":stale";
+
+    private final CnaworldRedisProperties.Loader properties;
+
+    /**
+     * 本JVM内正在加载的key
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    SingleFlightLoader(CnaworldRedisProperties.Loader properties) {
+        this.properties = properties;
+    }
+
+    <V> V getOrLoad(RedissonClient redisson, RBucket<V> bucket, Duration ttl, Supplier<V> loader) {
+        V value = bucket.get();
+        return value != null ? value : loadOnMiss(redisson, bucket, ttl, loader);
+    }
+
+    /**
+     * 已确认未命中时加载，同一JVM内同一key的并发调用共享一次加载
+     */
+    @SuppressWarnings("unchecked")
+    <V> V loadOnMiss(RedissonClient redisson, RBucket<V> bucket, Duration ttl, Supplier<V> loader) {
+        String key = bucket.getName();
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> loading = inFlight.putIfAbsent(key, future);
+        if (loading != null) {
+            return (V) join(loading);
+        }
+        try {
+            V value = load(redisson, bucket, ttl, loader);
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private <V> V load(RedissonClient redisson, RBucket<V> bucket, Duration ttl, Supplier<V> loader) {
+        String key = bucket.getName();
+        RBucket<String> guard = redisson.getBucket(key + LOADING_SUFFIX);
+        String token = UUID.randomUUID().toString();
+        long deadline = System.nanoTime() + properties.getWaitTime().toNanos();
+        while (true) {
+            if (guard.setIfAbsent(token, properties.getLockTime())) {
+                try {
+                    //抢到守护key之前其他节点可能刚完成加载
+                    V value = bucket.get();
+                    return value != null ? value : loadAndStore(redisson, bucket, ttl, loader);
+                } finally {
+                    //仅释放自己持有的守护key，加载超时后守护key可能已被其他节点抢到
+                    guard.compareAndSet(token, null);
+                }
+            }
+            if (System.nanoTime() - deadline >= 0 || Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            LockSupport.parkNanos(properties.getPollInterval().toNanos());
+            V value = bucket.get();
+            if (value != null) {
+                return value;
+            }
+        }
+        //持有守护key的节点迟迟未完成，优先返回旧值
+        if (properties.getStaleTime() != null) {
+            RBucket<V> stale = redisson.getBucket(key + STALE_SUFFIX, bucket.getCodec());
+            V value = stale.get();
+            if (value != null) {
+                return value;
+            }
+        }
+        return loadAndStore(redisson, bucket, ttl, loader);
+    }
+
+    /**
+     * 不等待的刷新，其他节点正在加载时直接放弃
+     * @return 是否执行了加载
+     */
+    <V> boolean refresh(RedissonClient redisson, RBucket<V> bucket, Duration ttl, Supplier<V> loader) {
+        RBucket<String> guard = redisson.getBucket(bucket.getName() + LOADING_SUFFIX);
+        String token = UUID.randomUUID().toString();
+        if (!guard.setIfAbsent(token, properties.getLockTime())) {
+            return false;
+        }
+        try {
+            loadAndStore(redisson, bucket, ttl, loader);
+            return true;
+        } finally {
+            guard.compareAndSet(token, null);
+        }
+    }
+
+    private <V> V loadAndStore(RedissonClient redisson, RBucket<V> bucket, Duration ttl, Supplier<V> loader) {
+        V value = loader.get();
+        if (value == null) {
+            return null;
+        }
+        bucket.set(value, ttl.toMillis(), TimeUnit.MILLISECONDS);
+        Duration staleTime = properties.getStaleTime();
+        if (staleTime != null) {
+            RBucket<V> stale = redisson.getBucket(bucket.getName() + STALE_SUFFIX, bucket.getCodec());
+            stale.set(value, ttl.plus(staleTime).toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return value;
+    }
+
+    private static Object join(CompletableFuture<Object> loading) {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,148 @@
+package cn.cnaworld.framework.infrastructure.utils.redis;
+
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RBuckets;
+import org.redisson.api.RFuture;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.redisson.connection.CRC16;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * 按slot分组的批量读写
+ * 集群模式下同一slot（含通过 {hashTag} 指定到同一slot）的多个key合并为一次 MGET / MSET，
+ * 独占slot的key通过 RBatch 按节点组成管道，各节点并行执行，最后合并结果；非集群模式按分块 MGET / MSET 并行执行
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+final class SlotBulk {
+
+    static final int SLOTS = 16384;
+
+    /**
+     * 单条 MGET / MSET 及单个 RBatch 的最大key数量
+     */
+    static final int CHUNK_SIZE = 1000;
+
+    private SlotBulk() {
+    }
+
+    /**
+     * 与redis一致的slot计算，存在非空 {hashTag} 时只对hashTag计算
+     */
+    static int slot(String key) {
+        int start = key.indexOf('{');
+        if (start >= 0) {
+            int end = key.indexOf('}', start + 1);
+            if (end > start + 1) {
+                key = key.substring(start + 1, end);
+            }
+        }
+        return CRC16.crc16(key.getBytes(StandardCharsets.UTF_8)) % SLOTS;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> CompletableFuture<Map<String, V>> gets(RedissonClient redisson, Collection<String> keys, Function<String, Codec> codecs) {
+        boolean cluster = redisson.getConfig().isClusterConfig();
+        List<CompletableFuture<Map<String, V>>> futures = new ArrayList<>();
+        List<String> singles = new ArrayList<>();
+        for (Map.Entry<List<Object>, List<String>> group : group(keys, codecs, cluster).entrySet()) {
+            List<String> groupKeys = group.getValue();
+            if (cluster && groupKeys.size() == 1) {
+                singles.add(groupKeys.get(0));
+                continue;
+            }
+            RBuckets buckets = buckets(redisson, (Codec) group.getKey().get(0));
+            for (int from = 0; from < groupKeys.size(); from += CHUNK_SIZE) {
+                List<String> chunk = groupKeys.subList(from, Math.min(from + CHUNK_SIZE, groupKeys.size()));
+                futures.add(buckets.<V>getAsync(chunk.toArray(new String[0])).toCompletableFuture());
+            }
+        }
+        for (int from = 0; from < singles.size(); from += CHUNK_SIZE) {
+            List<String> chunk = singles.subList(from, Math.min(from + CHUNK_SIZE, singles.size()));
+            RBatch batch = redisson.createBatch(BatchOptions.defaults());
+            Map<String, RFuture<V>> results = new LinkedHashMap<>(chunk.size() * 2);
+            for (String key : chunk) {
+                Codec codec = codecs.apply(key);
+                results.put(key, codec == null ? batch.<V>getBucket(key).getAsync() : batch.<V>getBucket(key, codec).getAsync());
+            }
+            futures.add(batch.executeAsync().toCompletableFuture().thenApply(ignored -> {
+                Map<String, V> values = new HashMap<>(results.size() * 2);
+                results.forEach((key, future) -> {
+                    V value = future.toCompletableFuture().join();
+                    if (value != null) {
+                        values.put(key, value);
+                    }
+                });
+                return values;
+            }));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            Map<String, V> values = new HashMap<>(keys.size() * 2);
+            futures.forEach(future -> values.putAll(future.join()));
+            return values;
+        });
+    }
+
+    static <V> CompletableFuture<Void> sets(RedissonClient redisson, Map<String, V> kvMap, Function<String, Codec> codecs) {
+        boolean cluster = redisson.getConfig().isClusterConfig();
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        List<String> singles = new ArrayList<>();
+        for (Map.Entry<List<Object>, List<String>> group : group(kvMap.keySet(), codecs, cluster).entrySet()) {
+            List<String> groupKeys = group.getValue();
+            if (cluster && groupKeys.size() == 1) {
+                singles.add(groupKeys.get(0));
+                continue;
+            }
+            RBuckets buckets = buckets(redisson, (Codec) group.getKey().get(0));
+            for (int from = 0; from < groupKeys.size(); from += CHUNK_SIZE) {
+                List<String> chunk = groupKeys.subList(from, Math.min(from + CHUNK_SIZE, groupKeys.size()));
+                Map<String, V> values = new LinkedHashMap<>(chunk.size() * 2);
+                chunk.forEach(key -> values.put(key, kvMap.get(key)));
+                futures.add(buckets.setAsync(values).toCompletableFuture());
+            }
+        }
+        for (int from = 0; from < singles.size(); from += CHUNK_SIZE) {
+            RBatch batch = redisson.createBatch(BatchOptions.defaults());
+            for (String key : singles.subList(from, Math.min(from + CHUNK_SIZE, singles.size()))) {
+                Codec codec = codecs.apply(key);
+                if (codec == null) {
+                    batch.getBucket(key).setAsync(kvMap.get(key));
+                } else {
+                    batch.getBucket(key, codec).setAsync(kvMap.get(key));
+                }
+            }
+            futures.add(batch.executeAsync().toCompletableFuture());
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * 按 编码 + slot 分组，非集群模式仅按编码分组
+     */
+    private static Map<List<Object>, List<String>> group(Collection<String> keys, Function<String, Codec> codecs, boolean cluster) {
+        Map<List<Object>, List<String>> groups = new LinkedHashMap<>();
+        for (String key : keys) {
+            List<Object> group = Arrays.asList(codecs.apply(key), cluster ? slot(key) : 0);
+            groups.computeIfAbsent(group, ignored -> new ArrayList<>()).add(key);
+        }
+        return groups;
+    }
+
+    private static RBuckets buckets(RedissonClient redisson, Codec codec) {
+        return codec == null ? redisson.getBuckets() : redisson.getBuckets(codec);
+    }
+
+}
@@ -0,0 +1,18 @@
+package cn.cnaworld.framework.infrastructure.utils.redis;
+
+import java.util.List;
+
+/**
+ * 流消费组批量处理器
+ * 正常返回视为整批处理成功并批量确认，抛出异常时逐条重试并确认成功的消息，仍失败的消息
+ * 超过 cnaworld.redis.stream.claim-idle 后由消费组内任一消费者重新认领，投递次数超过 max-deliveries 后移入死信流
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@FunctionalInterface
+public interface StreamHandler<K, V> {
+
+    void handle(List<StreamMessage<K, V>> messages) throws Exception;
+
+}
@@ -0,0 +1,40 @@
+package cn.cnaworld.framework.infrastructure.utils.redis;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.redisson.api.StreamMessageId;
+
+import java.util.Map;
+
+/**
+ * 消费组读取到的流消息
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@Getter
+@ToString
+public class StreamMessage<K, V> {
+
+    /**
+     * 流名称
+     */
+    private final String stream;
+
+    private final StreamMessageId id;
+
+    private final Map<K, V> body;
+
+    /**
+     * 是否为从超时未确认的待处理消息中认领，为 true 时消息可能已被处理过，处理逻辑需幂等
+     */
+    private final boolean claimed;
+
+    public StreamMessage(String stream, StreamMessageId id, Map<K, V> body, boolean claimed) {
+        this.stream = stream;
+        this.id = id;
+        this.body = body;
+        this.claimed = claimed;
+    }
+
+}
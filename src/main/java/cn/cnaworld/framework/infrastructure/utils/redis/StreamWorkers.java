@@ -0,0 +1,358 @@
+package cn.cnaworld.framework.infrastructure.utils.redis;
+
+import cn.cnaworld.framework.infrastructure.properties.CnaworldRedisProperties;
+import cn.cnaworld.framework.infrastructure.utils.log.CnaLogUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.AutoClaimResult;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.PendingEntry;
+import org.redisson.api.RBatch;
+import org.redisson.api.RFuture;
+import org.redisson.api.RStream;
+import org.redisson.api.RStreamAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.StreamMessageId;
+import org.redisson.api.stream.StreamAddArgs;
+import org.redisson.api.stream.StreamReadGroupArgs;
+import org.redisson.client.RedisException;
+import org.springframework.util.Assert;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 流消费组
+ * 每个注册的 流 + 消费组 启动 consumers 个消费线程，每个线程是消费组中的一个消费者，
+ * 以 XREADGROUP COUNT / BLOCK 批量读取新消息，处理成功后以一条 XACK 批量确认，整批失败时逐条重试并确认成功的消息；
+ * 每隔 claim-interval 以 XAUTOCLAIM 认领空闲超过 claim-idle 的待处理消息（宕机或处理失败的消费者遗留），至少处理一次，
+ * 投递次数超过 max-deliveries 的消息原样移入死信流 流:消费组:dead 后确认，不再投递
+ * @author Lucifer
+ * @date 2026/10/18
+ * @since 1.1.5
+ */
+@Slf4j
+final class StreamWorkers {
+
+    /**
+     * XAUTOCLAIM 起始游标，返回该值表示已遍历完待处理列表
+     */
+    private static final StreamMessageId CLAIM_START = new StreamMessageId(0, 0);
+
+    /**
+     * 单次认领最多遍历的轮数，剩余部分在下一个认领周期继续
+     */
+    private static final int MAX_CLAIM_ROUNDS = 10;
+
+    /**
+     * redisson 按秒发送 BLOCK ，不足1秒时为 BLOCK 0 永久阻塞
+     */
+    private static final Duration MIN_BLOCK = Duration.ofSeconds(1);
+
+    private final RedissonClient redisson;
+
+    private final CnaworldRedisProperties.Stream properties;
+
+    /**
+     * 消费者名称前缀 pid@host
+     */
+    private final String instance;
+
+    private final Map<String, Registration> registrations = new ConcurrentHashMap<>();
+
+    private volatile boolean running = true;
+
+    StreamWorkers(RedissonClient redisson, CnaworldRedisProperties.Stream properties) {
+        this.redisson = redisson;
+        this.properties = properties;
+        this.instance = ManagementFactory.getRuntimeMXBean().getName();
+    }
+
+    <K, V> StreamMessageId add(String stream, Map<K, V> entries, int maxLen) {
+        return redisson.<K, V>getStream(stream).add(args(entries, maxLen));
+    }
+
+    /**
+     * 按 SlotBulk.CHUNK_SIZE 分批管道发送 XADD
+     */
+    <K, V> List<StreamMessageId> addAll(String stream, List<? extends Map<K, V>> entries, int maxLen) {
+        List<StreamMessageId> ids = new ArrayList<>(entries.size());
+        for (int from = 0; from < entries.size(); from += SlotBulk.CHUNK_SIZE) {
+            List<? extends Map<K, V>> chunk = entries.subList(from, Math.min(from + SlotBulk.CHUNK_SIZE, entries.size()));
+            RBatch batch = redisson.createBatch(BatchOptions.defaults());
+            List<RFuture<StreamMessageId>> futures = new ArrayList<>(chunk.size());
+            for (Map<K, V> entry : chunk) {
+                futures.add(batch.<K, V>getStream(stream).addAsync(args(entry, maxLen)));
+            }
+            batch.execute();
+            for (RFuture<StreamMessageId> future : futures) {
+                ids.add(future.toCompletableFuture().join());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * maxLen 大于 0 时按 MAXLEN ~ 近似裁剪，由redis在整个节点上批量删除，开销远小于精确裁剪
+     */
+    private static <K, V> StreamAddArgs<K, V> args(Map<K, V> entries, int maxLen) {
+        StreamAddArgs<K, V> args = StreamAddArgs.entries(entries);
+        return maxLen > 0 ? args.trimNonStrict().maxLen(maxLen).noLimit() : args;
+    }
+
+    synchronized void register(String stream, String group, StreamHandler<?, ?> handler) {
+        Assert.isTrue(running, "流消费已关闭");
+        Assert.hasText(stream, "流名称不能为空");
+        Assert.hasText(group, "消费组名称不能为空");
+        String name = name(stream, group);
+        Assert.isTrue(!registrations.containsKey(name), "流消费组已注册处理器 : " + name);
+        createGroup(stream, group);
+        Registration registration = new Registration(stream, group, handler);
+        registrations.put(name, registration);
+        for (int i = 0; i < Math.max(1, properties.getConsumers()); i++) {
+            String consumer = instance + "-" + i;
+            Thread thread = new Thread(() -> consume(registration, consumer), "cnaworld-redis-stream-" + name + "-" + i);
+            thread.setDaemon(true);
+            registration.threads.add(thread);
+            thread.start();
+        }
+    }
+
+    /**
+     * 停止读取，等待已读取的消息处理完成
+     */
+    void unregister(String stream, String group) {
+        Registration registration = registrations.remove(name(stream, group));
+        if (registration != null) {
+            registration.active = false;
+            registration.await(System.nanoTime() + properties.getShutdownTimeout().toNanos());
+        }
+    }
+
+    /**
+     * 停止全部消费者，超时未处理完成的消息保留在待处理列表中，由其他节点认领
+     */
+    synchronized void close() {
+        running = false;
+        registrations.values().forEach(registration -> registration.active = false);
+        long deadline = System.nanoTime() + properties.getShutdownTimeout().toNanos();
+        registrations.values().forEach(registration -> registration.await(deadline));
+        registrations.clear();
+    }
+
+    /**
+     * 消费组不存在时创建，从流的第一条消息开始消费，流不存在时同时创建流
+     */
+    private void createGroup(String stream, String group) {
+        try {
+            redisson.getStream(stream).createGroup(group, StreamMessageId.ALL);
+        } catch (RedisException e) {
+            if (e.getMessage() == null || !e.getMessage().contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    private void consume(Registration registration, String consumer) {
+        RStream<Object, Object> stream = redisson.getStream(registration.stream);
+        Duration block = properties.getBlock().compareTo(MIN_BLOCK) < 0 ? MIN_BLOCK : properties.getBlock();
+        StreamReadGroupArgs args = StreamReadGroupArgs.neverDelivered().count(properties.getBatchSize()).timeout(block);
+        //启动时先认领，恢复上次宕机遗留的消息
+        long nextClaim = System.nanoTime();
+        while (registration.active && !Thread.currentThread().isInterrupted()) {
+            try {
+                if (System.nanoTime() - nextClaim >= 0) {
+                    claim(registration, stream, consumer);
+                    nextClaim = System.nanoTime() + properties.getClaimInterval().toNanos();
+                }
+                Map<StreamMessageId, Map<Object, Object>> messages = stream.readGroup(registration.group, consumer, args);
+                if (messages != null && !messages.isEmpty()) {
+                    process(registration, stream, messages, false);
+                }
+            } catch (RuntimeException e) {
+                if (!registration.active) {
+                    break;
+                }
+                CnaLogUtil.error(log, "流消息读取失败 , 流 ：{} , 消费组 ：{}", registration.stream, registration.group, e);
+                //redis不可用时避免空转
+                LockSupport.parkNanos(block.toNanos());
+            }
+        }
+        removeIdleConsumer(registration, stream, consumer);
+    }
+
+    private void claim(Registration registration, RStream<Object, Object> stream, String consumer) {
+        StreamMessageId start = CLAIM_START;
+        for (int round = 0; round < MAX_CLAIM_ROUNDS && registration.active; round++) {
+            AutoClaimResult<Object, Object> result = stream.autoClaim(registration.group, consumer,
+                    properties.getClaimIdle().toMillis(), TimeUnit.MILLISECONDS, start, properties.getBatchSize());
+            if (!result.getMessages().isEmpty()) {
+                process(registration, stream, deadLetter(registration, stream, consumer, result.getMessages()), true);
+            }
+            start = result.getNextId();
+            if (start == null || CLAIM_START.equals(start)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 按 XPENDING 中的投递次数，将超过 max-deliveries 的认领消息写入死信流后确认
+     * @return 剩余需要处理的消息
+     */
+    private Map<StreamMessageId, Map<Object, Object>> deadLetter(Registration registration, RStream<Object, Object> stream, String consumer,
+                                                                Map<StreamMessageId, Map<Object, Object>> entries) {
+        if (properties.getMaxDeliveries() <= 0) {
+            return entries;
+        }
+        RBatch batch = redisson.createBatch(BatchOptions.defaults());
+        RStreamAsync<Object, Object> pending = batch.getStream(registration.stream);
+        Map<StreamMessageId, RFuture<List<PendingEntry>>> futures = new LinkedHashMap<>(entries.size());
+        for (Map.Entry<StreamMessageId, Map<Object, Object>> entry : entries.entrySet()) {
+            if (entry.getValue() != null) {
+                futures.put(entry.getKey(), pending.listPendingAsync(registration.group, consumer, entry.getKey(), entry.getKey(), 1));
+            }
+        }
+        if (futures.isEmpty()) {
+            return entries;
+        }
+        batch.execute();
+        Map<StreamMessageId, Map<Object, Object>> remaining = new LinkedHashMap<>(entries);
+        List<StreamMessageId> dead = new ArrayList<>();
+        List<Map<Object, Object>> bodies = new ArrayList<>();
+        for (Map.Entry<StreamMessageId, RFuture<List<PendingEntry>>> future : futures.entrySet()) {
+            List<PendingEntry> entry = future.getValue().toCompletableFuture().join();
+            if (!entry.isEmpty() && entry.get(0).getLastTimeDelivered() > properties.getMaxDeliveries()) {
+                dead.add(future.getKey());
+                bodies.add(remaining.remove(future.getKey()));
+            }
+        }
+        if (!dead.isEmpty()) {
+            String deadStream = name(registration.stream, registration.group) + ":dead";
+            CnaLogUtil.error(log, "流消息投递超过 {} 次后仍未确认，移入死信流 , 流 ：{} , 消费组 ：{} , 死信流 ：{} , id ：{}",
+                    properties.getMaxDeliveries(), registration.stream, registration.group, deadStream, dead);
+            //先写入死信流再确认，写入失败时消息保留在待处理列表中
+            addAll(deadStream, bodies, properties.getMaxLen());
+            stream.ack(registration.group, dead.toArray(new StreamMessageId[0]));
+        }
+        return remaining;
+    }
+
+    private void process(Registration registration, RStream<Object, Object> stream, Map<StreamMessageId, Map<Object, Object>> entries, boolean claimed) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<StreamMessage<Object, Object>> messages = new ArrayList<>(entries.size());
+        List<StreamMessageId> ids = new ArrayList<>(entries.size());
+        for (Map.Entry<StreamMessageId, Map<Object, Object>> entry : entries.entrySet()) {
+            //已被裁剪删除的待处理消息没有内容，直接确认
+            if (entry.getValue() != null) {
+                messages.add(new StreamMessage<>(registration.stream, entry.getKey(), entry.getValue(), claimed));
+            } else {
+                ids.add(entry.getKey());
+            }
+        }
+        if (!messages.isEmpty()) {
+            try {
+                handle(registration, messages);
+                messages.forEach(message -> ids.add(message.getId()));
+            } catch (Exception e) {
+                CnaLogUtil.error(log, "流消息处理失败 , 流 ：{} , 消费组 ：{} , 消息数 ：{}", registration.stream, registration.group, messages.size(), e);
+                if (messages.size() > 1) {
+                    retryEach(registration, messages, ids);
+                }
+            }
+        }
+        if (!ids.isEmpty()) {
+            stream.ack(registration.group, ids.toArray(new StreamMessageId[0]));
+        }
+    }
+
+    /**
+     * 整批失败时逐条重试，成功的消息加入 ids 一并确认，失败的保留在待处理列表中等待认领
+     */
+    private void retryEach(Registration registration, List<StreamMessage<Object, Object>> messages, List<StreamMessageId> ids) {
+        List<StreamMessageId> failed = new ArrayList<>();
+        for (StreamMessage<Object, Object> message : messages) {
+            try {
+                handle(registration, Collections.singletonList(message));
+                ids.add(message.getId());
+            } catch (Exception e) {
+                failed.add(message.getId());
+                CnaLogUtil.debug(log, "流消息逐条重试失败 , 流 ：{} , 消费组 ：{} , id ：{}", registration.stream, registration.group, message.getId(), e);
+            }
+        }
+        if (!failed.isEmpty()) {
+            CnaLogUtil.error(log, "流消息逐条重试后仍失败 , 流 ：{} , 消费组 ：{} , id ：{}", registration.stream, registration.group, failed);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void handle(Registration registration, List<StreamMessage<Object, Object>> messages) throws Exception {
+        ((StreamHandler) registration.handler).handle(messages);
+    }
+
+    /**
+     * 正常退出且没有待处理消息时从消费组中删除消费者，避免重启后消费组中残留大量消费者
+     */
+    private void removeIdleConsumer(Registration registration, RStream<Object, Object> stream, String consumer) {
+        try {
+            if (stream.listPending(registration.group, consumer, StreamMessageId.MIN, StreamMessageId.MAX, 1).isEmpty()) {
+                stream.removeConsumer(registration.group, consumer);
+            }
+        } catch (RuntimeException e) {
+            CnaLogUtil.debug(log, "流消费者删除失败 , 流 ：{} , 消费组 ：{} , 消费者 ：{}", registration.stream, registration.group, consumer, e);
+        }
+    }
+
+    private static String name(String stream, String group) {
+        return stream + ":" + group;
+    }
+
+    private static final class Registration {
+
+        private final String stream;
+
+        private final String group;
+
+        private final StreamHandler<?, ?> handler;
+
+        private final List<Thread> threads = new ArrayList<>();
+
+        private volatile boolean active = true;
+
+        private Registration(String stream, String group, StreamHandler<?, ?> handler) {
+            this.stream = stream;
+            this.group = group;
+            this.handler = handler;
+        }
+
+        /**
+         * 等待消费线程退出，超过 deadline 后中断
+         */
+        private void await(long deadline) {
+            for (Thread thread : threads) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                try {
+                    if (remaining > 0) {
+                        thread.join(remaining);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (thread.isAlive()) {
+                    CnaLogUtil.warn(log, "流消费线程未在 shutdown-timeout 内退出，已中断 : {}", thread.getName());
+                    thread.interrupt();
+                }
+            }
+        }
+    }
+
+}